@@ -0,0 +1,52 @@
+package com.vaultx.banking.benchmark;
+
+import com.vaultx.banking.audit.AuditPipeline;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What recording an audit event adds to the transaction path. With DROP the
+ * figure is the pure hand-off cost; with BLOCK it also includes waiting
+ * whenever the writer thread falls behind, so at high thread counts it shows
+ * the sustained throughput of the writer itself.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class AuditPipelineBenchmark {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("125.50");
+
+    @Param({"BLOCK", "DROP"})
+    private AuditPipeline.BackPressure backPressure;
+
+    private AuditPipeline pipeline;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        pipeline = new AuditPipeline(true, Files.createTempDirectory("vaultx-audit-bench").toString(), 65536,
+                backPressure, 1024, AuditPipeline.Fsync.INTERVAL, Duration.ofSeconds(1), DataSize.ofMegabytes(64),
+                new SimpleMeterRegistry());
+        pipeline.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        pipeline.stop();
+    }
+
+    @Benchmark
+    public void recordTransaction() {
+        pipeline.recordTransaction(42L, "DEBIT", AMOUNT, null, "TXN1234567890", true, null);
+    }
+}
@@ -0,0 +1,65 @@
+package com.vaultx.banking.benchmark;
+
+import com.vaultx.banking.VaultXBankingApplication;
+import com.vaultx.banking.entity.Customer;
+import com.vaultx.banking.repository.CustomerRepository;
+import org.springframework.boot.Banner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// Boots the real application on a private in-memory H2 database with logging turned down
+public final class BenchmarkContext {
+
+    private BenchmarkContext() {}
+
+    public static ConfigurableApplicationContext start(String... extraArgs) {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--ids.node-id=0",
+                "--spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                "--audit.directory=" + System.getProperty("java.io.tmpdir") + "/vaultx-audit-" + UUID.randomUUID(),
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.format_sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.vaultx.banking=WARN",
+                "--logging.level.org.springframework.security=WARN"));
+        args.addAll(List.of(extraArgs));
+
+        SpringApplication application = new SpringApplication(VaultXBankingApplication.class);
+        application.setBannerMode(Banner.Mode.OFF);
+        return application.run(args.toArray(new String[0]));
+    }
+
+    // Approved customers that can transact, saved in chunks so the seed itself uses JDBC batching
+    public static long[] seedCustomers(ConfigurableApplicationContext context, int count, BigDecimal balance) {
+        CustomerRepository repository = context.getBean(CustomerRepository.class);
+        long[] ids = new long[count];
+        List<Customer> chunk = new ArrayList<>();
+        int next = 0;
+        for (int i = 0; i < count; i++) {
+            String suffix = UUID.randomUUID().toString().substring(0, 8) + i;
+            Customer customer = new Customer("Bench", "Customer" + i, "bench" + suffix + "@vaultx.test",
+                    "9" + String.format("%09d", i), "not-a-real-hash");
+            customer.setAccountType(i % 2 == 0 ? Customer.AccountType.SAVINGS : Customer.AccountType.CURRENT);
+            customer.setInitialDeposit(balance);
+            customer.setCurrentBalance(balance);
+            customer.setAccountNumber("VXB" + suffix);
+            customer.setStatus(Customer.CustomerStatus.APPROVED);
+            customer.setKycCompleted(true);
+            customer.setCanPerformOperations(true);
+            chunk.add(customer);
+            if (chunk.size() == 500 || i == count - 1) {
+                for (Customer saved : repository.saveAll(chunk)) {
+                    ids[next++] = saved.getId();
+                }
+                chunk.clear();
+            }
+        }
+        return ids;
+    }
+}
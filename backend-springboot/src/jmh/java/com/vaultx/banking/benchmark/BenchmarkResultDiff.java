@@ -0,0 +1,64 @@
+package com.vaultx.banking.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares two JMH JSON result files and flags changes beyond a threshold.
+ * Usage: mvn -Pbenchmarks compile exec:java -Dexec.mainClass=com.vaultx.banking.benchmark.BenchmarkResultDiff
+ *        -Dexec.args="baseline.json target/jmh-result.json [thresholdPercent]"
+ * Exits with status 1 when any benchmark regressed by more than the threshold (default 10%).
+ */
+public final class BenchmarkResultDiff {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: BenchmarkResultDiff <baseline.json> <current.json> [thresholdPercent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+        Map<String, JsonNode> baseline = load(new File(args[0]));
+        Map<String, JsonNode> current = load(new File(args[1]));
+
+        boolean regressed = false;
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            JsonNode after = entry.getValue();
+            double score = after.path("primaryMetric").path("score").asDouble();
+            String unit = after.path("primaryMetric").path("scoreUnit").asText();
+            if (before == null) {
+                System.out.printf("%-90s %14.3f %-10s (new)%n", entry.getKey(), score, unit);
+                continue;
+            }
+            double previous = before.path("primaryMetric").path("score").asDouble();
+            double change = previous == 0 ? 0 : (score - previous) / previous * 100.0;
+            // Throughput regresses downwards, time-per-op regresses upwards
+            boolean higherIsBetter = "thrpt".equals(after.path("mode").asText());
+            boolean worse = higherIsBetter ? change < -threshold : change > threshold;
+            regressed |= worse;
+            System.out.printf("%-90s %14.3f -> %14.3f %-10s %+7.1f%%%s%n", entry.getKey(), previous, score, unit,
+                    change, worse ? "  REGRESSION" : "");
+        }
+        System.exit(regressed ? 1 : 0);
+    }
+
+    private static Map<String, JsonNode> load(File file) throws Exception {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText());
+            key.append(" t=").append(result.path("threads").asInt());
+            Iterator<Map.Entry<String, JsonNode>> params = result.path("params").fields();
+            while (params.hasNext()) {
+                Map.Entry<String, JsonNode> param = params.next();
+                key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText());
+            }
+            results.put(key.toString(), result);
+        }
+        return results;
+    }
+}
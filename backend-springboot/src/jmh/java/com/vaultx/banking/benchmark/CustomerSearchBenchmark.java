@@ -0,0 +1,79 @@
+package com.vaultx.banking.benchmark;
+
+import com.vaultx.banking.dto.CustomerSearchResultDto;
+import com.vaultx.banking.entity.Customer;
+import com.vaultx.banking.service.CustomerSearchIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Typeahead latency of the customer search index over synthetic customers,
+ * built standalone without a database. Setup prints the index's own size
+ * estimate and the measured heap growth per customer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CustomerSearchBenchmark {
+
+    private static final String[] FIRST_NAMES = {"Aarav", "Aditi", "Arjun", "Diya", "Ishaan", "Kavya", "Meera",
+            "Nikhil", "Priya", "Rahul", "Rohan", "Saanvi", "Sneha", "Vikram", "Zara"};
+    private static final String[] LAST_NAMES = {"Agarwal", "Bose", "Chopra", "Desai", "Gupta", "Iyer", "Joshi",
+            "Kapoor", "Mehta", "Nair", "Patel", "Reddy", "Sharma", "Singh", "Verma"};
+
+    @Param({"100000", "1000000"})
+    private int customers;
+
+    private CustomerSearchIndex index;
+    private String[] queries;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Customer> source = new ArrayList<>(customers);
+        for (int i = 0; i < customers; i++) {
+            source.add(customer(i));
+        }
+        long before = usedHeap();
+        index = new CustomerSearchIndex();
+        index.replaceAll(source);
+        long after = usedHeap();
+        System.out.println("Search index over " + source.size() + " customers: " + index.stats()
+                + ", measured about " + (after - before) / customers + " bytes per customer");
+
+        // Name prefixes of one to four letters, account and phone prefixes, and two-word queries
+        queries = new String[] {"a", "pr", "sha", "vikr", "Patel", "rahul sh", "9876", "VX72123456789012", "user12@"};
+    }
+
+    @Benchmark
+    public List<CustomerSearchResultDto> search() {
+        return index.search(queries[ThreadLocalRandom.current().nextInt(queries.length)], 10);
+    }
+
+    private static Customer customer(int i) {
+        Customer customer = new Customer();
+        customer.setId((long) i + 1);
+        customer.setFirstName(FIRST_NAMES[i % FIRST_NAMES.length]);
+        customer.setLastName(LAST_NAMES[(i / FIRST_NAMES.length) % LAST_NAMES.length]);
+        customer.setEmail("user" + i + "@example.com");
+        customer.setPhone(String.valueOf(9_876_000_000L + i));
+        customer.setAccountNumber("VX" + (7_212_345_678_901_234_567L + i));
+        customer.setStatus(Customer.CustomerStatus.APPROVED);
+        return customer;
+    }
+
+    // The index is built while the source list is still reachable, so only the index itself shows as growth
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,75 @@
+package com.vaultx.banking.benchmark;
+
+import com.vaultx.banking.dto.TransactionRequestDto;
+import com.vaultx.banking.dto.TransactionResponseDto;
+import com.vaultx.banking.entity.Transaction;
+import com.vaultx.banking.ledger.LedgerCommand;
+import com.vaultx.banking.ledger.LedgerResult;
+import com.vaultx.banking.ledger.LedgerWriter;
+import com.vaultx.banking.service.CustomerService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * performTransaction through the sharded ledger engine versus the same write
+ * done synchronously on the caller's thread (one transaction per request,
+ * row lock only). Run at several thread counts for a throughput-vs-threads
+ * curve, e.g. -Djmh.args="CustomerServiceBenchmark -t 16".
+ * A small account count measures hot-account contention.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class CustomerServiceBenchmark {
+
+    @Param({"16", "4096"})
+    private int accounts;
+
+    private ConfigurableApplicationContext context;
+    private CustomerService customerService;
+    private LedgerWriter ledgerWriter;
+    private long[] customerIds;
+    private TransactionRequestDto credit;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        customerService = context.getBean(CustomerService.class);
+        ledgerWriter = context.getBean(LedgerWriter.class);
+        customerIds = BenchmarkContext.seedCustomers(context, accounts, new BigDecimal("1000000.00"));
+
+        credit = new TransactionRequestDto();
+        credit.setType("CREDIT");
+        credit.setAmount(new BigDecimal("1.00"));
+        credit.setDescription("benchmark");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TransactionResponseDto performTransaction() {
+        return customerService.performTransaction(randomCustomer(), credit);
+    }
+
+    @Benchmark
+    public LedgerResult lockedWriteWithoutEngine() {
+        LedgerCommand command = new LedgerCommand(randomCustomer(), Transaction.TransactionType.CREDIT,
+                credit.getAmount(), credit.getDescription(), null);
+        return ledgerWriter.apply(List.of(command)).get(0);
+    }
+
+    private long randomCustomer() {
+        return customerIds[ThreadLocalRandom.current().nextInt(customerIds.length)];
+    }
+}
@@ -0,0 +1,54 @@
+package com.vaultx.banking.benchmark;
+
+import com.vaultx.banking.service.InterestAccrualService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One full interest accrual over 100k customers, half of them SAVINGS, at
+ * several pool sizes. Every invocation accrues a new date so none is
+ * refused as already done; the job's own accounts-per-second figure is
+ * printed alongside.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class InterestAccrualBenchmark {
+
+    private static final int CUSTOMERS = 100_000;
+
+    @Param({"1", "4", "8"})
+    private int parallelism;
+
+    private ConfigurableApplicationContext context;
+    private InterestAccrualService interestAccrualService;
+    private LocalDate accrualDate = LocalDate.of(2000, 1, 1);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("--interest.parallelism=" + parallelism);
+        interestAccrualService = context.getBean(InterestAccrualService.class);
+        BenchmarkContext.seedCustomers(context, CUSTOMERS, new BigDecimal("25000.00"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Map<String, Object> accrue() {
+        accrualDate = accrualDate.plusDays(1);
+        Map<String, Object> report = interestAccrualService.accrue(accrualDate);
+        System.out.println("accountsPerSecond=" + report.get("accountsPerSecond"));
+        return report;
+    }
+}
@@ -0,0 +1,55 @@
+package com.vaultx.banking.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vaultx.banking.dto.ApiResponse;
+import com.vaultx.banking.dto.TransactionResponseDto;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JsonSerializationBenchmark {
+
+    @Param({"20", "100"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private ApiResponse<List<TransactionResponseDto>> response;
+
+    @Setup
+    public void setUp() {
+        // Same defaults Spring Boot applies to the MVC ObjectMapper
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        List<TransactionResponseDto> transactions = new ArrayList<>(size);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < size; i++) {
+            TransactionResponseDto dto = new TransactionResponseDto();
+            dto.setId((long) i);
+            dto.setTransactionType(i % 2 == 0 ? "CREDIT" : "DEBIT");
+            dto.setAmount(new BigDecimal("1250.75"));
+            dto.setDescription("Payment " + i);
+            dto.setBalanceAfter(new BigDecimal("98000.25"));
+            dto.setStatus("COMPLETED");
+            dto.setReferenceNumber("TXN" + (1_000_000_000L + i));
+            dto.setCreatedAt(now.minusMinutes(i));
+            transactions.add(dto);
+        }
+        response = new ApiResponse<>(true, "Transactions retrieved successfully", transactions);
+    }
+
+    @Benchmark
+    public byte[] serializeTransactions() throws Exception {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
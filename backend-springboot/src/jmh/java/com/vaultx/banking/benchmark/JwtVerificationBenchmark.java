@@ -0,0 +1,52 @@
+package com.vaultx.banking.benchmark;
+
+import com.vaultx.banking.service.JwtService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request token verification: a full HMAC check and parse against a hit
+ * in the verified-token cache. {@code tokens} is how many distinct clients'
+ * tokens are in rotation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JwtVerificationBenchmark {
+
+    @Param({"1", "1000"})
+    private int tokens;
+
+    private JwtService jwtService;
+    private String[] issued;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jwtService = new JwtService("vaultx-benchmark-secret-key-that-is-at-least-256-bits-long", 3_600_000L,
+                10_000, new SimpleMeterRegistry());
+        issued = new String[tokens];
+        for (int i = 0; i < tokens; i++) {
+            issued[i] = jwtService.issue((long) i + 1);
+        }
+    }
+
+    @Benchmark
+    public JwtService.VerifiedToken parse() {
+        return jwtService.parse(randomToken());
+    }
+
+    @Benchmark
+    public JwtService.VerifiedToken cachedVerify() {
+        return jwtService.verify(randomToken());
+    }
+
+    private String randomToken() {
+        return issued[ThreadLocalRandom.current().nextInt(issued.length)];
+    }
+}
@@ -0,0 +1,97 @@
+package com.vaultx.banking.benchmark;
+
+import com.vaultx.banking.dto.CustomerResponseDto;
+import com.vaultx.banking.dto.CustomerStatusUpdateDto;
+import com.vaultx.banking.dto.KycClaimResponseDto;
+import com.vaultx.banking.service.CustomerService;
+import com.vaultx.banking.service.KycQueueService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Many clerks claiming from the KYC queue at once. Each operation claims a
+ * page of customers and puts them straight back, so the queue keeps its
+ * depth; claim latency should not grow with {@code backlog}. A customer
+ * handed to two clerks at the same time fails the run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Threads(64)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class KycQueueBenchmark {
+
+    private static final int CLAIM_SIZE = 10;
+
+    @Param({"1000", "100000"})
+    private int backlog;
+
+    private ConfigurableApplicationContext context;
+    private KycQueueService kycQueueService;
+    private CustomerService customerService;
+    private final Set<Long> held = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger clerks = new AtomicInteger();
+
+    @State(Scope.Thread)
+    public static class Clerk {
+        private String name;
+
+        @Setup(Level.Trial)
+        public void setUp(KycQueueBenchmark benchmark) {
+            name = "clerk-" + benchmark.clerks.incrementAndGet();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        kycQueueService = context.getBean(KycQueueService.class);
+        customerService = context.getBean(CustomerService.class);
+        long[] customerIds = BenchmarkContext.seedCustomers(context, backlog, new BigDecimal("1000.00"));
+        List<CustomerStatusUpdateDto> submitted = new ArrayList<>(customerIds.length);
+        for (long customerId : customerIds) {
+            submitted.add(pending(customerId));
+        }
+        customerService.updateCustomerStatuses(submitted);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int claimAndReturn(Clerk clerk) {
+        KycClaimResponseDto claim = kycQueueService.claim(clerk.name, CLAIM_SIZE);
+        List<CustomerStatusUpdateDto> release = new ArrayList<>(claim.getCustomers().size());
+        for (CustomerResponseDto customer : claim.getCustomers()) {
+            if (!held.add(customer.getId())) {
+                throw new IllegalStateException("Customer " + customer.getId() + " was claimed twice");
+            }
+            release.add(pending(customer.getId()));
+        }
+        // Forgotten before the release commits, as nobody can claim them until it does
+        for (CustomerStatusUpdateDto update : release) {
+            held.remove(update.getCustomerId());
+        }
+        customerService.updateCustomerStatuses(release);
+        return release.size();
+    }
+
+    private static CustomerStatusUpdateDto pending(long customerId) {
+        CustomerStatusUpdateDto update = new CustomerStatusUpdateDto();
+        update.setCustomerId(customerId);
+        update.setStatus("DOCUMENTS_SUBMITTED");
+        return update;
+    }
+}
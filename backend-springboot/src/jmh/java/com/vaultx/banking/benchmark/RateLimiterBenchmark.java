@@ -0,0 +1,46 @@
+package com.vaultx.banking.benchmark;
+
+import com.vaultx.banking.ratelimit.RateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the rate-limit check on the request path, with limits high enough
+ * that nothing is refused. Every call CASes the one global bucket, so run
+ * with -t N to see contention on it; {@code customers} sets how many
+ * per-customer buckets the lookups spread over.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RateLimiterBenchmark {
+
+    @Param({"1", "100000"})
+    private int customers;
+
+    private RateLimiter rateLimiter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        rateLimiter = new RateLimiter(true, 1e9, Integer.MAX_VALUE, 1e9, Integer.MAX_VALUE,
+                200_000, Duration.ofMinutes(10), new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public RateLimiter.Rejection acquire() {
+        return rateLimiter.acquire((long) ThreadLocalRandom.current().nextInt(customers));
+    }
+
+    // The random customer id alone, to subtract from acquire
+    @Benchmark
+    public long baseline() {
+        return ThreadLocalRandom.current().nextInt(customers);
+    }
+}
@@ -0,0 +1,79 @@
+package com.vaultx.banking.benchmark;
+
+import com.vaultx.banking.dto.BatchStatusUpdateResultDto;
+import com.vaultx.banking.dto.CustomerStatusUpdateDto;
+import com.vaultx.banking.service.CustomerService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to change the status of 10k customers through the batch endpoint's
+ * service method versus one updateCustomerStatus call (and transaction) per
+ * customer. APPROVED assigns account numbers, so it takes the batched entity
+ * path; KYC_COMPLETED takes the set-based UPDATE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class StatusUpdateBenchmark {
+
+    private static final int CUSTOMERS = 10_000;
+
+    @Param({"APPROVED", "KYC_COMPLETED"})
+    private String status;
+
+    private ConfigurableApplicationContext context;
+    private CustomerService customerService;
+    private List<CustomerStatusUpdateDto> updates;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        customerService = context.getBean(CustomerService.class);
+        long[] customerIds = BenchmarkContext.seedCustomers(context, CUSTOMERS, new BigDecimal("1000.00"));
+
+        boolean approving = "APPROVED".equals(status);
+        updates = new ArrayList<>(CUSTOMERS);
+        for (long customerId : customerIds) {
+            CustomerStatusUpdateDto update = new CustomerStatusUpdateDto();
+            update.setCustomerId(customerId);
+            update.setStatus(status);
+            update.setKycCompleted(true);
+            update.setCanPerformOperations(approving);
+            updates.add(update);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<BatchStatusUpdateResultDto> batch() {
+        List<BatchStatusUpdateResultDto> results = customerService.updateCustomerStatuses(updates);
+        for (BatchStatusUpdateResultDto result : results) {
+            if (!result.isSuccess()) {
+                throw new IllegalStateException("Update of customer " + result.getCustomerId() + " failed: "
+                        + result.getMessage());
+            }
+        }
+        return results;
+    }
+
+    @Benchmark
+    public int perCall() {
+        for (CustomerStatusUpdateDto update : updates) {
+            customerService.updateCustomerStatus(update.getCustomerId(), update);
+        }
+        return updates.size();
+    }
+}
@@ -0,0 +1,118 @@
+package com.vaultx.banking.benchmark;
+
+import com.vaultx.banking.dto.TransactionRequestDto;
+import com.vaultx.banking.dto.TransactionResponseDto;
+import com.vaultx.banking.entity.Customer;
+import com.vaultx.banking.entity.Transaction;
+import com.vaultx.banking.ledger.LedgerCommand;
+import com.vaultx.banking.ledger.LedgerResult;
+import com.vaultx.banking.ledger.LedgerWriter;
+import com.vaultx.banking.repository.CustomerRepository;
+import com.vaultx.banking.service.CustomerService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Many threads transferring among a few hot accounts, through the ledger
+ * engine and through a direct locked write. Opposite-direction transfers
+ * between the same pair are the classic deadlock; ordered locking must keep
+ * them flowing. After every iteration the total money held is checked
+ * against the seeded total, and the run fails if any of it was created or
+ * lost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Threads(16)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class TransferContentionBenchmark {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("1.00");
+
+    @Param({"2", "8", "64"})
+    private int accounts;
+
+    private ConfigurableApplicationContext context;
+    private CustomerService customerService;
+    private LedgerWriter ledgerWriter;
+    private CustomerRepository customerRepository;
+    private long[] customerIds;
+    private String[] accountNumbers;
+    private BigDecimal totalBalance;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        customerService = context.getBean(CustomerService.class);
+        ledgerWriter = context.getBean(LedgerWriter.class);
+        customerRepository = context.getBean(CustomerRepository.class);
+        customerIds = BenchmarkContext.seedCustomers(context, accounts, new BigDecimal("1000000.00"));
+
+        Map<Long, String> byId = new HashMap<>();
+        for (Customer customer : customerRepository.findAllById(toList(customerIds))) {
+            byId.put(customer.getId(), customer.getAccountNumber());
+        }
+        accountNumbers = new String[customerIds.length];
+        for (int i = 0; i < customerIds.length; i++) {
+            accountNumbers[i] = byId.get(customerIds[i]);
+        }
+        totalBalance = customerRepository.getTotalBalance();
+    }
+
+    @TearDown(Level.Iteration)
+    public void checkConservation() {
+        BigDecimal current = customerRepository.getTotalBalance();
+        if (current.compareTo(totalBalance) != 0) {
+            throw new IllegalStateException("Total balance changed from " + totalBalance + " to " + current);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TransactionResponseDto transferThroughEngine() {
+        int[] pair = randomPair();
+        TransactionRequestDto transfer = new TransactionRequestDto();
+        transfer.setType("TRANSFER");
+        transfer.setAmount(AMOUNT);
+        transfer.setDescription("benchmark");
+        transfer.setRecipientAccount(accountNumbers[pair[1]]);
+        return customerService.performTransaction(customerIds[pair[0]], transfer);
+    }
+
+    @Benchmark
+    public LedgerResult transferWithoutEngine() {
+        int[] pair = randomPair();
+        LedgerCommand command = new LedgerCommand(customerIds[pair[0]], Transaction.TransactionType.TRANSFER,
+                AMOUNT, "benchmark", accountNumbers[pair[1]]);
+        return ledgerWriter.apply(List.of(command)).get(0);
+    }
+
+    // Two distinct account indexes, in either direction
+    private int[] randomPair() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int from = random.nextInt(customerIds.length);
+        int to = (from + 1 + random.nextInt(customerIds.length - 1)) % customerIds.length;
+        return new int[] {from, to};
+    }
+
+    private static List<Long> toList(long[] ids) {
+        Long[] boxed = new Long[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            boxed[i] = ids[i];
+        }
+        return List.of(boxed);
+    }
+}
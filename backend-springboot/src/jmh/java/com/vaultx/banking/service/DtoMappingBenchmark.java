@@ -0,0 +1,60 @@
+package com.vaultx.banking.service;
+
+import com.vaultx.banking.dto.CustomerResponseDto;
+import com.vaultx.banking.dto.TransactionResponseDto;
+import com.vaultx.banking.entity.Customer;
+import com.vaultx.banking.entity.Transaction;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+// Lives in the service package to reach CustomerService's package-private mappers
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class DtoMappingBenchmark {
+
+    private CustomerService customerService;
+    private Customer customer;
+    private Transaction transaction;
+
+    @Setup
+    public void setUp() {
+        customerService = new CustomerService();
+
+        customer = new Customer("Asha", "Rao", "asha.rao@example.com", "9876543210", "hash");
+        customer.setId(42L);
+        customer.setDateOfBirth(LocalDate.of(1990, 4, 12));
+        customer.setAccountNumber("VX123456789012345");
+        customer.setAccountType(Customer.AccountType.SAVINGS);
+        customer.setCurrentBalance(new BigDecimal("125000.50"));
+        customer.setStatus(Customer.CustomerStatus.APPROVED);
+        customer.setKycCompleted(true);
+        customer.setCanPerformOperations(true);
+        customer.setSubmittedDate(LocalDate.now().minusDays(30));
+        customer.setApprovalDate(LocalDate.now().minusDays(20));
+
+        transaction = new Transaction(customer, Transaction.TransactionType.DEBIT, new BigDecimal("2500.00"), "Rent");
+        transaction.setId(1001L);
+        transaction.setBalanceAfter(new BigDecimal("122500.50"));
+        transaction.setStatus(Transaction.TransactionStatus.COMPLETED);
+        transaction.setReferenceNumber("TXN1234567890123456");
+        transaction.setCreatedAt(LocalDateTime.now());
+    }
+
+    @Benchmark
+    public CustomerResponseDto convertToResponseDto() {
+        return customerService.convertToResponseDto(customer);
+    }
+
+    @Benchmark
+    public TransactionResponseDto convertToTransactionResponseDto() {
+        return customerService.convertToTransactionResponseDto(transaction);
+    }
+}
@@ -0,0 +1,65 @@
+package com.vaultx.banking.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Latency distribution (microseconds, 3 significant digits) and outcome counts for one endpoint
+class EndpointStats {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final String name;
+    private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+    private final LongAdder failures = new LongAdder();
+    private Histogram histogram;
+
+    EndpointStats(String name) {
+        this.name = name;
+    }
+
+    String getName() { return name; }
+
+    long getCount() { return histogram.getTotalCount(); }
+
+    long getFailures() { return failures.sum(); }
+
+    double getPercentileMillis(double percentile) { return histogram.getValueAtPercentile(percentile) / 1000.0; }
+
+    void record(long nanos, boolean success) {
+        recorder.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), HIGHEST_TRACKABLE_MICROS));
+        if (!success) {
+            failures.increment();
+        }
+    }
+
+    // Drops everything recorded so far (end of warmup)
+    void reset() {
+        recorder.getIntervalHistogram();
+        failures.reset();
+    }
+
+    void finish() {
+        histogram = recorder.getIntervalHistogram();
+    }
+
+    void printSummary(PrintStream out, double seconds) {
+        long count = histogram.getTotalCount();
+        out.printf("%-12s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n", name, count, failures.sum(),
+                count / seconds,
+                histogram.getValueAtPercentile(50) / 1000.0,
+                histogram.getValueAtPercentile(90) / 1000.0,
+                histogram.getValueAtPercentile(99) / 1000.0,
+                histogram.getValueAtPercentile(99.9) / 1000.0,
+                histogram.getMaxValue() / 1000.0);
+    }
+
+    void printDistribution(PrintStream out) {
+        out.println();
+        out.println("== " + name + " latency distribution (ms) ==");
+        histogram.outputPercentileDistribution(out, 1000.0);
+    }
+}
@@ -0,0 +1,352 @@
+package com.vaultx.banking.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vaultx.banking.VaultXBankingApplication;
+import org.springframework.boot.Banner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Self-contained end-to-end load test: boots the application on a random port
+ * against a private in-memory database, seeds approved customers over HTTP, then
+ * drives a weighted mix of CustomerController calls from many closed-loop clients
+ * and writes per-endpoint throughput and latency percentiles to a report file.
+ *
+ * mvn -Ploadtest compile exec:exec -Dloadtest.args="--clients=128 --duration=60"
+ *
+ * Options: --customers (200), --clients (64), --warmup seconds (10), --duration seconds (60),
+ * --mix (register=2,login=5,balance=45,transaction=30,history=18), --report (target/loadtest-report.txt)
+ *
+ * --modes=platform,virtual repeats the run once per request execution mode (a fresh application
+ * each time, spring.threads.virtual.enabled toggled) and adds a side-by-side comparison to the report.
+ */
+public class LoadTestRunner {
+
+    private static final String[] ENDPOINTS = {"register", "login", "balance", "transaction", "history"};
+    private static final String PASSWORD = "loadtest-password";
+
+    private final Map<String, String> options;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong uniqueSuffix = new AtomicLong();
+    private Map<String, EndpointStats> stats;
+
+    private HttpClient httpClient;
+    private String baseUrl;
+    private List<SeededCustomer> customers;
+    private int[] mixWeights;
+    private int mixTotal;
+
+    private volatile boolean running = true;
+
+    public LoadTestRunner(Map<String, String> options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        new LoadTestRunner(options).run();
+    }
+
+    public void run() throws Exception {
+        File report = new File(options.getOrDefault("report", "target/loadtest-report.txt"));
+        parseMix(options.getOrDefault("mix", "register=2,login=5,balance=45,transaction=30,history=18"));
+
+        String modes = options.get("modes");
+        if (modes == null) {
+            runScenario(null, report);
+            return;
+        }
+        Map<String, Map<String, EndpointStats>> results = new LinkedHashMap<>();
+        Map<String, Double> measured = new LinkedHashMap<>();
+        for (String mode : modes.split(",")) {
+            mode = mode.trim();
+            if (!mode.equals("platform") && !mode.equals("virtual")) {
+                throw new IllegalArgumentException("Unknown mode '" + mode + "', expected platform or virtual");
+            }
+            String path = report.getPath();
+            int dot = path.lastIndexOf('.');
+            File modeReport = new File(dot > 0 ? path.substring(0, dot) + "-" + mode + path.substring(dot) : path + "-" + mode);
+            measured.put(mode, runScenario(mode, modeReport));
+            results.put(mode, stats);
+        }
+        writeComparison(report, results, measured);
+        System.out.println("Comparison written to " + report.getAbsolutePath());
+    }
+
+    // Runs one full boot/seed/warmup/measure cycle and returns the measured seconds
+    private double runScenario(String mode, File report) throws Exception {
+        int customerCount = intOption("customers", 200);
+        int clients = intOption("clients", 64);
+        int warmupSeconds = intOption("warmup", 10);
+        int durationSeconds = intOption("duration", 60);
+        stats = new LinkedHashMap<>();
+        running = true;
+
+        try (ConfigurableApplicationContext context = startApplication(mode)) {
+            String port = context.getEnvironment().getProperty("local.server.port");
+            baseUrl = "http://localhost:" + port + "/api/customers";
+            httpClient = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+
+            System.out.printf("Application on port %s (%s threads), seeding %d customers%n", port,
+                    mode != null ? mode : "configured", customerCount);
+            ExecutorService seeders = Executors.newFixedThreadPool(Math.min(clients, 32));
+            try {
+                customers = seed(seeders, customerCount);
+            } finally {
+                seeders.shutdownNow();
+            }
+            for (String endpoint : ENDPOINTS) {
+                stats.put(endpoint, new EndpointStats(endpoint));
+            }
+
+            System.out.printf("Running %d clients: %ds warmup, %ds measured%n", clients, warmupSeconds, durationSeconds);
+            List<Thread> workers = new ArrayList<>();
+            for (int i = 0; i < clients; i++) {
+                Thread worker = new Thread(this::clientLoop, "loadtest-client-" + i);
+                worker.start();
+                workers.add(worker);
+            }
+            TimeUnit.SECONDS.sleep(warmupSeconds);
+            stats.values().forEach(EndpointStats::reset);
+            long measuredFrom = System.nanoTime();
+            TimeUnit.SECONDS.sleep(durationSeconds);
+            stats.values().forEach(EndpointStats::finish);
+            double measuredSeconds = (System.nanoTime() - measuredFrom) / 1e9;
+            running = false;
+            for (Thread worker : workers) {
+                worker.join();
+            }
+
+            writeReport(report, customerCount, clients, measuredSeconds);
+            System.out.println("Report written to " + report.getAbsolutePath());
+            return measuredSeconds;
+        }
+    }
+
+    protected ConfigurableApplicationContext startApplication(String mode) {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:loadtest-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                "--audit.directory=" + System.getProperty("java.io.tmpdir") + "/vaultx-audit-" + UUID.randomUUID(),
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.format_sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.vaultx.banking=WARN",
+                "--logging.level.org.springframework.security=WARN"));
+        for (Map.Entry<String, String> option : options.entrySet()) {
+            // Anything prefixed with app. is forwarded as an application property
+            if (option.getKey().startsWith("app.")) {
+                args.add("--" + option.getKey().substring(4) + "=" + option.getValue());
+            }
+        }
+        if (!options.containsKey("app.ids.node-id")) {
+            args.add("--ids.node-id=0");
+        }
+        if (!options.containsKey("app.rate-limit.enabled")) {
+            // The harness measures capacity, so it must not be throttled unless asked to be
+            args.add("--rate-limit.enabled=false");
+        }
+        if (mode != null) {
+            args.add("--spring.threads.virtual.enabled=" + mode.equals("virtual"));
+        }
+        SpringApplication application = new SpringApplication(VaultXBankingApplication.class);
+        application.setBannerMode(Banner.Mode.OFF);
+        return application.run(args.toArray(new String[0]));
+    }
+
+    private List<SeededCustomer> seed(ExecutorService pool, int count) throws Exception {
+        List<Future<SeededCustomer>> futures = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            futures.add(pool.submit(() -> {
+                JsonNode registered = send(registerRequest());
+                long id = registered.path("data").path("id").asLong();
+                String email = registered.path("data").path("email").asText();
+                String body = "{\"status\":\"APPROVED\",\"kycCompleted\":true,\"canPerformOperations\":true}";
+                send(HttpRequest.newBuilder(URI.create(baseUrl + "/" + id + "/status"))
+                        .header("Content-Type", "application/json")
+                        .PUT(HttpRequest.BodyPublishers.ofString(body))
+                        .build());
+                return new SeededCustomer(id, email);
+            }));
+        }
+        List<SeededCustomer> seeded = new ArrayList<>(count);
+        for (Future<SeededCustomer> future : futures) {
+            seeded.add(future.get());
+        }
+        return seeded;
+    }
+
+    private void clientLoop() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (running) {
+            String endpoint = pickEndpoint(random.nextInt(mixTotal));
+            SeededCustomer customer = customers.get(random.nextInt(customers.size()));
+            HttpRequest request = switch (endpoint) {
+                case "register" -> registerRequest();
+                case "login" -> post("/login", "{\"emailOrPhone\":\"" + customer.email + "\",\"password\":\"" + PASSWORD + "\"}");
+                case "balance" -> HttpRequest.newBuilder(URI.create(baseUrl + "/" + customer.id + "/balance")).GET().build();
+                case "transaction" -> post("/" + customer.id + "/transactions",
+                        "{\"type\":\"" + (random.nextInt(3) == 0 ? "DEBIT" : "CREDIT") + "\",\"amount\":"
+                                + (1 + random.nextInt(100)) + ",\"description\":\"load test\"}");
+                default -> HttpRequest.newBuilder(URI.create(baseUrl + "/" + customer.id + "/transactions?limit=20")).GET().build();
+            };
+
+            long started = System.nanoTime();
+            boolean success;
+            try {
+                HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                success = response.statusCode() == 200;
+            } catch (Exception e) {
+                success = false;
+            }
+            stats.get(endpoint).record(System.nanoTime() - started, success);
+        }
+    }
+
+    private HttpRequest registerRequest() {
+        long n = uniqueSuffix.incrementAndGet();
+        String body = "{\"firstName\":\"Load\",\"lastName\":\"Test" + n + "\",\"email\":\"load" + n + "-"
+                + UUID.randomUUID().toString().substring(0, 8) + "@vaultx.test\",\"phone\":\"" + (7_000_000_000L + n)
+                + "\",\"password\":\"" + PASSWORD + "\",\"accountType\":\"SAVINGS\",\"initialDeposit\":100000}";
+        return post("/register", body);
+    }
+
+    private HttpRequest post(String path, String body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8))
+                .build();
+    }
+
+    private JsonNode send(HttpRequest request) throws Exception {
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Seeding failed with " + response.statusCode() + ": " + response.body());
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    private void parseMix(String mix) {
+        mixWeights = new int[ENDPOINTS.length];
+        for (String part : mix.split(",")) {
+            String[] pair = part.split("=");
+            for (int i = 0; i < ENDPOINTS.length; i++) {
+                if (ENDPOINTS[i].equals(pair[0].trim())) {
+                    mixWeights[i] = Integer.parseInt(pair[1].trim());
+                }
+            }
+        }
+        for (int weight : mixWeights) {
+            mixTotal += weight;
+        }
+        if (mixTotal <= 0) {
+            throw new IllegalArgumentException("Mix must give at least one endpoint a positive weight: " + mix);
+        }
+    }
+
+    private String pickEndpoint(int roll) {
+        for (int i = 0; i < ENDPOINTS.length; i++) {
+            roll -= mixWeights[i];
+            if (roll < 0) {
+                return ENDPOINTS[i];
+            }
+        }
+        return ENDPOINTS[ENDPOINTS.length - 1];
+    }
+
+    private void writeReport(File file, int customerCount, int clients, double seconds) throws Exception {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        try (PrintStream out = new PrintStream(new FileOutputStream(file), true, StandardCharsets.UTF_8)) {
+            out.printf("VaultX load test, %s%n", LocalDateTime.now());
+            out.printf("customers=%d clients=%d measured=%.1fs options=%s%n%n", customerCount, clients, seconds, options);
+            out.printf("%-12s %10s %8s %10s %9s %9s %9s %9s %9s%n",
+                    "endpoint", "requests", "failed", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+            for (EndpointStats endpoint : stats.values()) {
+                endpoint.printSummary(out, seconds);
+            }
+            for (EndpointStats endpoint : stats.values()) {
+                endpoint.printDistribution(out);
+            }
+        }
+        for (EndpointStats endpoint : stats.values()) {
+            endpoint.printSummary(System.out, seconds);
+        }
+    }
+
+    private void writeComparison(File file, Map<String, Map<String, EndpointStats>> results,
+                                 Map<String, Double> measured) throws Exception {
+        try (PrintStream out = new PrintStream(new FileOutputStream(file), true, StandardCharsets.UTF_8)) {
+            out.printf("VaultX load test mode comparison, %s%n", LocalDateTime.now());
+            out.printf("options=%s%n%n", options);
+            out.printf("%-12s %-9s %10s %8s %10s %9s %9s %9s%n",
+                    "endpoint", "mode", "requests", "failed", "req/s", "p50 ms", "p99 ms", "p99.9 ms");
+            for (String endpoint : ENDPOINTS) {
+                for (Map.Entry<String, Map<String, EndpointStats>> result : results.entrySet()) {
+                    EndpointStats endpointStats = result.getValue().get(endpoint);
+                    out.printf("%-12s %-9s %10d %8d %10.1f %9.2f %9.2f %9.2f%n", endpoint, result.getKey(),
+                            endpointStats.getCount(), endpointStats.getFailures(),
+                            endpointStats.getCount() / measured.get(result.getKey()),
+                            endpointStats.getPercentileMillis(50),
+                            endpointStats.getPercentileMillis(99),
+                            endpointStats.getPercentileMillis(99.9));
+                }
+            }
+            out.println();
+            for (Map.Entry<String, Map<String, EndpointStats>> result : results.entrySet()) {
+                long total = 0;
+                for (EndpointStats endpointStats : result.getValue().values()) {
+                    total += endpointStats.getCount();
+                }
+                out.printf("%-9s total %.1f req/s%n", result.getKey(), total / measured.get(result.getKey()));
+            }
+        }
+    }
+
+    private int intOption(String name, int defaultValue) {
+        return Integer.parseInt(options.getOrDefault(name, String.valueOf(defaultValue)));
+    }
+
+    private static class SeededCustomer {
+        private final long id;
+        private final String email;
+
+        SeededCustomer(long id, String email) {
+            this.id = id;
+            this.email = email;
+        }
+    }
+}
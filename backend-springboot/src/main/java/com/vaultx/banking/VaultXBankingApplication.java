@@ -2,8 +2,10 @@ package com.vaultx.banking;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class VaultXBankingApplication {
     public static void main(String[] args) {
         SpringApplication.run(VaultXBankingApplication.class, args);
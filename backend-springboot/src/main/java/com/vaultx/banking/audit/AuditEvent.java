@@ -0,0 +1,34 @@
+package com.vaultx.banking.audit;
+
+import java.math.BigDecimal;
+
+/**
+ * One preallocated slot of the audit ring buffer. Producers overwrite the
+ * fields in place, so recording an event allocates nothing; the strings and
+ * amount are references to objects the caller already has.
+ */
+final class AuditEvent {
+
+    enum Kind { TRANSACTION, STATUS_CHANGE }
+
+    Kind kind;
+    long timestampMillis;
+    long customerId;
+    // Transaction type, or the new status
+    String action;
+    // Recipient account, or the previous status
+    String detail;
+    BigDecimal amount;
+    String referenceNumber;
+    boolean success;
+    String message;
+
+    // Drops the references once written, so the ring does not keep them reachable
+    void clear() {
+        action = null;
+        detail = null;
+        amount = null;
+        referenceNumber = null;
+        message = null;
+    }
+}
@@ -0,0 +1,237 @@
+package com.vaultx.banking.audit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Audit trail for transactions and status changes, kept off the request
+ * path: callers copy an event into a preallocated {@link AuditRingBuffer}
+ * slot and return, and a single writer thread drains the ring in batches
+ * into rotated, gzip-compressed NDJSON files under {@code audit.directory}.
+ *
+ * When the ring is full, {@code audit.back-pressure} decides: BLOCK makes the
+ * caller wait for space (no event is lost), DROP discards the event and
+ * counts it. {@code audit.fsync} is NONE (leave it to the OS), BATCH (after
+ * every written batch) or INTERVAL (at most once per {@code audit.fsync-interval}).
+ * If the file cannot be written, queued events are dropped and counted so
+ * that a broken disk never stalls transactions.
+ */
+@Component
+public class AuditPipeline implements Runnable {
+
+    public enum BackPressure { BLOCK, DROP }
+
+    public enum Fsync { NONE, BATCH, INTERVAL }
+
+    private static final Logger log = LoggerFactory.getLogger(AuditPipeline.class);
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long RETRY_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final boolean enabled;
+    private final String directory;
+    private final AuditRingBuffer ring;
+    private final BackPressure backPressure;
+    private final int batchSize;
+    private final Fsync fsync;
+    private final long fsyncIntervalNanos;
+    private final long maxFileBytes;
+    private final Counter written;
+    private final Counter droppedFull;
+    private final Counter droppedFailed;
+
+    private AuditLogWriter writer;
+    private Thread consumer;
+    private volatile boolean running;
+
+    public AuditPipeline(@Value("${audit.enabled:true}") boolean enabled,
+                         @Value("${audit.directory:data/audit}") String directory,
+                         @Value("${audit.ring-size:65536}") int ringSize,
+                         @Value("${audit.back-pressure:BLOCK}") BackPressure backPressure,
+                         @Value("${audit.batch-size:1024}") int batchSize,
+                         @Value("${audit.fsync:INTERVAL}") Fsync fsync,
+                         @Value("${audit.fsync-interval:1s}") Duration fsyncInterval,
+                         @Value("${audit.max-file-size:64MB}") DataSize maxFileSize,
+                         MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.directory = directory;
+        this.ring = new AuditRingBuffer(ringSize);
+        this.backPressure = backPressure;
+        this.batchSize = batchSize;
+        this.fsync = fsync;
+        this.fsyncIntervalNanos = fsyncInterval.toNanos();
+        this.maxFileBytes = maxFileSize.toBytes();
+        this.written = Counter.builder("vaultx.audit.written")
+                .description("Audit events written to the audit log")
+                .register(meterRegistry);
+        this.droppedFull = droppedCounter(meterRegistry, "full");
+        this.droppedFailed = droppedCounter(meterRegistry, "write_failed");
+        Gauge.builder("vaultx.audit.backlog", ring, AuditRingBuffer::backlog)
+                .description("Audit events recorded but not yet written")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        writer = new AuditLogWriter(Paths.get(directory), maxFileBytes);
+        running = true;
+        consumer = new Thread(this, "audit-writer");
+        consumer.setDaemon(true);
+        consumer.start();
+    }
+
+    // Drains everything already recorded before closing the current file
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (consumer == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(consumer);
+        consumer.join();
+    }
+
+    public void recordTransaction(Long customerId, String type, BigDecimal amount, String recipientAccount,
+                                  String referenceNumber, boolean success, String message) {
+        long sequence = claim();
+        if (sequence < 0) {
+            return;
+        }
+        AuditEvent event = ring.slot(sequence);
+        event.kind = AuditEvent.Kind.TRANSACTION;
+        event.timestampMillis = System.currentTimeMillis();
+        event.customerId = customerId != null ? customerId : -1;
+        event.action = type;
+        event.detail = recipientAccount;
+        event.amount = amount;
+        event.referenceNumber = referenceNumber;
+        event.success = success;
+        event.message = message;
+        ring.publish(sequence);
+    }
+
+    public void recordStatusChange(Long customerId, String previousStatus, String status, boolean success,
+                                   String message) {
+        long sequence = claim();
+        if (sequence < 0) {
+            return;
+        }
+        AuditEvent event = ring.slot(sequence);
+        event.kind = AuditEvent.Kind.STATUS_CHANGE;
+        event.timestampMillis = System.currentTimeMillis();
+        event.customerId = customerId != null ? customerId : -1;
+        event.action = status;
+        event.detail = previousStatus;
+        event.amount = null;
+        event.referenceNumber = null;
+        event.success = success;
+        event.message = message;
+        ring.publish(sequence);
+    }
+
+    @Override
+    public void run() {
+        long next = 0;
+        long lastSync = System.nanoTime();
+        // After stop, keep going until every claimed event has been written
+        while (running || next < ring.claimedCount()) {
+            long first = next;
+            try {
+                while (next - first < batchSize && ring.isPublished(next)) {
+                    AuditEvent event = ring.slot(next);
+                    writer.append(event);
+                    event.clear();
+                    next++;
+                }
+                if (next > first) {
+                    ring.release(next);
+                    long now = System.nanoTime();
+                    boolean sync = fsync == Fsync.BATCH
+                            || (fsync == Fsync.INTERVAL && now - lastSync >= fsyncIntervalNanos);
+                    writer.flush(sync);
+                    if (sync) {
+                        lastSync = now;
+                    }
+                    written.increment(next - first);
+                    continue;
+                }
+            } catch (IOException e) {
+                // Drop what is queued rather than stall every producer on a broken disk, then retry with a new file
+                while (ring.isPublished(next)) {
+                    ring.slot(next).clear();
+                    next++;
+                }
+                ring.release(next);
+                droppedFailed.increment(next - first);
+                log.error("Audit log write failed, {} events lost", next - first, e);
+                closeQuietly();
+                LockSupport.parkNanos(this, RETRY_BACKOFF_NANOS);
+                continue;
+            }
+            if (fsync == Fsync.INTERVAL && System.nanoTime() - lastSync >= fsyncIntervalNanos) {
+                syncQuietly();
+                lastSync = System.nanoTime();
+            }
+            LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+        }
+        closeQuietly();
+    }
+
+    private long claim() {
+        if (!running) {
+            return -1;
+        }
+        long sequence = ring.tryClaim();
+        while (sequence < 0) {
+            if (backPressure == BackPressure.DROP || !running) {
+                droppedFull.increment();
+                return -1;
+            }
+            LockSupport.parkNanos(FULL_PARK_NANOS);
+            sequence = ring.tryClaim();
+        }
+        return sequence;
+    }
+
+    private void syncQuietly() {
+        try {
+            writer.flush(true);
+        } catch (IOException e) {
+            log.warn("Audit log fsync failed", e);
+        }
+    }
+
+    private void closeQuietly() {
+        try {
+            writer.close();
+        } catch (IOException e) {
+            log.warn("Closing the audit log failed", e);
+        }
+    }
+
+    private static Counter droppedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("vaultx.audit.dropped")
+                .description("Audit events lost instead of written")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
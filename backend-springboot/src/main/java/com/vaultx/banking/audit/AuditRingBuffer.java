@@ -0,0 +1,73 @@
+package com.vaultx.banking.audit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded multi-producer, single-consumer ring of preallocated
+ * {@link AuditEvent} slots, in the style of the LMAX Disruptor. Producers
+ * claim a sequence with a CAS, fill the slot and publish it by storing the
+ * sequence in the slot's marker; the consumer reads slots in sequence order
+ * and releases them in bulk once written.
+ */
+final class AuditRingBuffer {
+
+    private final AuditEvent[] slots;
+    private final int mask;
+    // Sequence last published into each slot
+    private final AtomicLongArray published;
+    // Next sequence to hand to a producer
+    private final AtomicLong claimed = new AtomicLong();
+    // Every sequence below this has been consumed and its slot may be reused
+    private final AtomicLong released = new AtomicLong();
+
+    AuditRingBuffer(int size) {
+        if (size < 2 || Integer.bitCount(size) != 1) {
+            throw new IllegalArgumentException("Ring size must be a power of two: " + size);
+        }
+        slots = new AuditEvent[size];
+        published = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            slots[i] = new AuditEvent();
+            published.set(i, -1);
+        }
+        mask = size - 1;
+    }
+
+    // The claimed sequence, or -1 if every slot is still waiting for the consumer
+    long tryClaim() {
+        while (true) {
+            long current = claimed.get();
+            if (current - released.get() >= slots.length) {
+                return -1;
+            }
+            if (claimed.compareAndSet(current, current + 1)) {
+                return current;
+            }
+        }
+    }
+
+    AuditEvent slot(long sequence) {
+        return slots[(int) sequence & mask];
+    }
+
+    void publish(long sequence) {
+        published.lazySet((int) sequence & mask, sequence);
+    }
+
+    boolean isPublished(long sequence) {
+        return published.get((int) sequence & mask) == sequence;
+    }
+
+    void release(long nextSequence) {
+        released.lazySet(nextSequence);
+    }
+
+    long claimedCount() {
+        return claimed.get();
+    }
+
+    long backlog() {
+        return claimed.get() - released.get();
+    }
+}
@@ -0,0 +1,23 @@
+package com.vaultx.banking.config;
+
+import com.vaultx.banking.util.SnowflakeIdGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class IdGeneratorConfig {
+
+    // Must be unique per running instance (0-1023); there is no default, as two instances sharing one would collide
+    @Value("${ids.node-id:#{null}}")
+    private Long nodeId;
+
+    @Bean
+    public SnowflakeIdGenerator snowflakeIdGenerator() {
+        if (nodeId == null) {
+            throw new IllegalStateException("ids.node-id is not set: give each running instance its own node id "
+                    + "(0-1023), e.g. --ids.node-id=0 or IDS_NODE_ID=0");
+        }
+        return new SnowflakeIdGenerator(nodeId);
+    }
+}
@@ -0,0 +1,62 @@
+package com.vaultx.banking.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vaultx.banking.dto.ApiResponse;
+import com.vaultx.banking.service.JwtService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Authenticates requests carrying {@code Authorization: Bearer <token>} as
+ * the token's customer; the principal is the customer id. Requests without a
+ * token pass through unauthenticated, requests with a bad one get 401.
+ * Registered only in the security chain, not as a servlet filter.
+ */
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtService jwtService;
+    private final ObjectMapper objectMapper;
+
+    public JwtAuthenticationFilter(JwtService jwtService, ObjectMapper objectMapper) {
+        this.jwtService = jwtService;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith(BEARER_PREFIX)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        JwtService.VerifiedToken token;
+        try {
+            token = jwtService.verify(header.substring(BEARER_PREFIX.length()).trim());
+        } catch (RuntimeException e) {
+            response.setStatus(HttpStatus.UNAUTHORIZED.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), new ApiResponse<>(false, e.getMessage(), null));
+            return;
+        }
+
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                token.getCustomerId(), null, AuthorityUtils.createAuthorityList("ROLE_CUSTOMER"));
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        chain.doFilter(request, response);
+    }
+}
@@ -1,14 +1,23 @@
 package com.vaultx.banking.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vaultx.banking.service.JwtService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfigurationSource;
 
 @Configuration
@@ -18,6 +27,16 @@ public class SecurityConfig {
     @Autowired
     private CorsConfigurationSource corsConfigurationSource;
 
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // When true, a customer's own account endpoints need that customer's token
+    @Value("${jwt.required:false}")
+    private boolean tokenRequired;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
@@ -30,13 +49,28 @@ public class SecurityConfig {
                 .requestMatchers("/customers/login").permitAll()
                 .requestMatchers("/ping").permitAll()
                 .requestMatchers("/actuator/**").permitAll()
+                .requestMatchers("/customers/{customerId}/transactions/**", "/customers/{customerId}/balance",
+                        "/customers/{customerId}/summary").access(accountOwner())
                 .anyRequest().permitAll() // For development - in production, secure these endpoints
             )
-            .headers(headers -> headers.frameOptions().disable()); // For H2 console
+            .exceptionHandling(exceptions -> exceptions.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
+            .headers(headers -> headers.frameOptions().disable()) // For H2 console
+            .addFilterBefore(new JwtAuthenticationFilter(jwtService, objectMapper), UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
 
+    private AuthorizationManager<RequestAuthorizationContext> accountOwner() {
+        return (authentication, context) -> {
+            if (!tokenRequired) {
+                return new AuthorizationDecision(true);
+            }
+            Object principal = authentication.get().getPrincipal();
+            return new AuthorizationDecision(principal instanceof Long
+                    && principal.toString().equals(context.getVariables().get("customerId")));
+        };
+    }
+
     @Bean
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
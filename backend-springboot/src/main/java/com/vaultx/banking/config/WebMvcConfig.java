@@ -0,0 +1,32 @@
+package com.vaultx.banking.config;
+
+import com.vaultx.banking.metrics.EndpointMetricsInterceptor;
+import com.vaultx.banking.ratelimit.RateLimitInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private EndpointMetricsInterceptor endpointMetricsInterceptor;
+
+    @Autowired
+    private RateLimitInterceptor rateLimitInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Metrics first, so throttled requests are still timed and counted as failures
+        registry.addInterceptor(endpointMetricsInterceptor).addPathPatterns("/customers/**");
+        registry.addInterceptor(rateLimitInterceptor).addPathPatterns("/customers/**");
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        // Streamed exports run their queries on the async executor; count them for the request
+        configurer.registerCallableInterceptors(endpointMetricsInterceptor);
+    }
+}
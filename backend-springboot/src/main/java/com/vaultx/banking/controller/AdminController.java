@@ -0,0 +1,63 @@
+package com.vaultx.banking.controller;
+
+import com.vaultx.banking.dto.ApiResponse;
+import com.vaultx.banking.service.AggregateRebuildService;
+import com.vaultx.banking.service.BalanceSnapshotService;
+import com.vaultx.banking.service.CustomerSearchIndex;
+import com.vaultx.banking.service.InterestAccrualService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/admin")
+@CrossOrigin(origins = {"http://localhost:8080", "http://localhost:3000", "http://localhost:5173"})
+public class AdminController {
+
+    @Autowired
+    private AggregateRebuildService aggregateRebuildService;
+
+    @Autowired
+    private BalanceSnapshotService balanceSnapshotService;
+
+    @Autowired
+    private CustomerSearchIndex customerSearchIndex;
+
+    @Autowired
+    private InterestAccrualService interestAccrualService;
+
+    @PostMapping("/aggregates/rebuild")
+    public ApiResponse<Map<String, Object>> rebuildAggregates() {
+        return new ApiResponse<>(true, "Aggregates rebuilt", aggregateRebuildService.rebuild());
+    }
+
+    @PostMapping("/snapshots")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> takeSnapshot() {
+        try {
+            return ResponseEntity.ok(new ApiResponse<>(true, "Balance snapshot written", balanceSnapshotService.takeSnapshot()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+
+    @GetMapping("/search-index")
+    public ApiResponse<Map<String, Object>> searchIndexStats() {
+        return new ApiResponse<>(true, "Search index statistics", customerSearchIndex.stats());
+    }
+
+    // Runs to completion before responding; a run that failed part way resumes when called again for the same date
+    @PostMapping("/interest/accrue")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> accrueInterest(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        try {
+            Map<String, Object> report = interestAccrualService.accrue(date != null ? date : LocalDate.now());
+            return ResponseEntity.ok(new ApiResponse<>(true, "Interest accrued", report));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+}
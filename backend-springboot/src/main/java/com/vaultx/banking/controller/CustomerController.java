@@ -1,12 +1,22 @@
 package com.vaultx.banking.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vaultx.banking.dto.*;
 import com.vaultx.banking.entity.Customer;
+import com.vaultx.banking.service.CustomerSearchIndex;
 import com.vaultx.banking.service.CustomerService;
+import com.vaultx.banking.service.HashingCapacityExceededException;
+import com.vaultx.banking.service.TransactionExportService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import jakarta.validation.Valid;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -17,11 +27,24 @@ public class CustomerController {
     @Autowired
     private CustomerService customerService;
 
+    @Autowired
+    private TransactionExportService transactionExportService;
+
+    @Autowired
+    private CustomerSearchIndex customerSearchIndex;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @PostMapping("/register")
     public ResponseEntity<ApiResponse<CustomerResponseDto>> registerCustomer(@Valid @RequestBody CustomerRegistrationDto registrationDto) {
         try {
             CustomerResponseDto customer = customerService.registerCustomer(registrationDto);
             return ResponseEntity.ok(new ApiResponse<>(true, "Customer registered successfully", customer));
+        } catch (HashingCapacityExceededException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
         }
@@ -32,6 +55,10 @@ public class CustomerController {
         try {
             CustomerLoginResponseDto response = customerService.loginCustomer(loginDto);
             return ResponseEntity.ok(new ApiResponse<>(true, "Login successful", response));
+        } catch (HashingCapacityExceededException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(new ApiResponse<>(false, e.getMessage(), null));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
         }
@@ -48,9 +75,32 @@ public class CustomerController {
     }
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<CustomerResponseDto>>> getAllCustomers() {
-        List<CustomerResponseDto> customers = customerService.getAllCustomers();
-        return ResponseEntity.ok(new ApiResponse<>(true, "Customers retrieved successfully", customers));
+    public ResponseEntity<ApiResponse<PageResponseDto<CustomerSummaryDto>>> getCustomers(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String accountType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate submittedFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate submittedTo,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        try {
+            PageResponseDto<CustomerSummaryDto> customers = customerService.getCustomers(status, accountType,
+                    submittedFrom, submittedTo, page, size);
+            return ResponseEntity.ok(new ApiResponse<>(true, "Customers retrieved successfully", customers));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<List<CustomerSearchResultDto>>> searchCustomers(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        try {
+            List<CustomerSearchResultDto> results = customerSearchIndex.search(q, limit);
+            return ResponseEntity.ok(new ApiResponse<>(true, "Search completed", results));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
+        }
     }
 
     @PutMapping("/{customerId}/status")
@@ -65,28 +115,80 @@ public class CustomerController {
         }
     }
 
+    @PutMapping("/status/batch")
+    public ResponseEntity<ApiResponse<List<BatchStatusUpdateResultDto>>> updateCustomerStatuses(
+            @Valid @RequestBody BatchStatusUpdateRequestDto batchDto) {
+        try {
+            List<BatchStatusUpdateResultDto> results = customerService.updateCustomerStatuses(batchDto.getUpdates());
+            long failed = results.stream().filter(result -> !result.isSuccess()).count();
+            String message = "Processed " + results.size() + " status updates, " + failed + " failed";
+            return ResponseEntity.ok(new ApiResponse<>(true, message, results));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+
     @PostMapping("/{customerId}/transactions")
     public ResponseEntity<ApiResponse<TransactionResponseDto>> performTransaction(
             @PathVariable Long customerId,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @Valid @RequestBody TransactionRequestDto transactionDto) {
         try {
-            TransactionResponseDto transaction = customerService.performTransaction(customerId, transactionDto);
+            TransactionResponseDto transaction = customerService.performTransaction(customerId, transactionDto, idempotencyKey);
             return ResponseEntity.ok(new ApiResponse<>(true, "Transaction completed successfully", transaction));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
         }
     }
 
+    @PostMapping("/transactions/batch")
+    public ResponseEntity<ApiResponse<List<BatchTransactionResultDto>>> performTransactions(
+            @Valid @RequestBody BatchTransactionRequestDto batchDto) {
+        try {
+            List<BatchTransactionResultDto> results = customerService.performTransactions(batchDto.getTransactions());
+            long failed = results.stream().filter(result -> !result.isSuccess()).count();
+            String message = "Processed " + results.size() + " transactions, " + failed + " failed";
+            return ResponseEntity.ok(new ApiResponse<>(true, message, results));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+
     @GetMapping("/{customerId}/transactions")
-    public ResponseEntity<ApiResponse<List<TransactionResponseDto>>> getCustomerTransactions(@PathVariable Long customerId) {
+    public ResponseEntity<ApiResponse<TransactionPageDto>> getCustomerTransactions(
+            @PathVariable Long customerId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
         try {
-            List<TransactionResponseDto> transactions = customerService.getCustomerTransactions(customerId);
+            TransactionPageDto transactions = customerService.getCustomerTransactions(customerId, cursor, limit);
             return ResponseEntity.ok(new ApiResponse<>(true, "Transactions retrieved successfully", transactions));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
         }
     }
 
+    @GetMapping("/{customerId}/transactions/export")
+    public ResponseEntity<StreamingResponseBody> exportCustomerTransactions(
+            @PathVariable Long customerId,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        TransactionExportService.ExportFormat exportFormat;
+        try {
+            exportFormat = transactionExportService.resolveFormat(customerId, format);
+        } catch (RuntimeException e) {
+            ApiResponse<Void> error = new ApiResponse<>(false, e.getMessage(), null);
+            return ResponseEntity.badRequest()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(outputStream -> objectMapper.writeValue(outputStream, error));
+        }
+
+        StreamingResponseBody body = outputStream -> transactionExportService.export(customerId, exportFormat, outputStream);
+        String filename = "transactions-" + customerId + "." + exportFormat.getExtension();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+
     @GetMapping("/{customerId}/balance")
     public ResponseEntity<ApiResponse<BalanceResponseDto>> getCustomerBalance(@PathVariable Long customerId) {
         try {
@@ -96,4 +198,14 @@ public class CustomerController {
             return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
         }
     }
+
+    @GetMapping("/{customerId}/summary")
+    public ResponseEntity<ApiResponse<AccountSummaryDto>> getAccountSummary(@PathVariable Long customerId) {
+        try {
+            AccountSummaryDto summary = customerService.getAccountSummary(customerId);
+            return ResponseEntity.ok(new ApiResponse<>(true, "Account summary retrieved successfully", summary));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
 }
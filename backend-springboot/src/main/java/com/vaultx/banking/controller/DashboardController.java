@@ -0,0 +1,26 @@
+package com.vaultx.banking.controller;
+
+import com.vaultx.banking.dto.ApiResponse;
+import com.vaultx.banking.dto.BankStatisticsDto;
+import com.vaultx.banking.service.BankStatistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/dashboard")
+@CrossOrigin(origins = {"http://localhost:8080", "http://localhost:3000", "http://localhost:5173"})
+public class DashboardController {
+
+    @Autowired
+    private BankStatistics bankStatistics;
+
+    @GetMapping("/stats")
+    public ApiResponse<BankStatisticsDto> stats() {
+        BankStatisticsDto dto = new BankStatisticsDto();
+        dto.setApprovedCustomers(bankStatistics.getApprovedCustomers());
+        dto.setActiveCustomers(bankStatistics.getActiveCustomers());
+        dto.setTotalApprovedBalance(bankStatistics.getTotalApprovedBalance());
+        dto.setLastReconciledAt(bankStatistics.getLastReconciledAt());
+        return new ApiResponse<>(true, "Bank statistics", dto);
+    }
+}
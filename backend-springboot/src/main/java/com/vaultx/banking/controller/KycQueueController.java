@@ -0,0 +1,40 @@
+package com.vaultx.banking.controller;
+
+import com.vaultx.banking.dto.ApiResponse;
+import com.vaultx.banking.dto.KycClaimResponseDto;
+import com.vaultx.banking.service.KycQueueService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/kyc-queue")
+@CrossOrigin(origins = {"http://localhost:8080", "http://localhost:3000", "http://localhost:5173"})
+public class KycQueueController {
+
+    @Autowired
+    private KycQueueService kycQueueService;
+
+    @PostMapping("/claim")
+    public ResponseEntity<ApiResponse<KycClaimResponseDto>> claim(
+            @RequestParam String clerk,
+            @RequestParam(defaultValue = "10") int count) {
+        try {
+            KycClaimResponseDto claim = kycQueueService.claim(clerk, count);
+            String message = "Claimed " + claim.getCustomers().size() + " customers";
+            return ResponseEntity.ok(new ApiResponse<>(true, message, claim));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+
+    @PostMapping("/renew")
+    public ResponseEntity<ApiResponse<Integer>> renew(@RequestParam String clerk) {
+        try {
+            int renewed = kycQueueService.renew(clerk);
+            return ResponseEntity.ok(new ApiResponse<>(true, "Renewed " + renewed + " leases", renewed));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(new ApiResponse<>(false, e.getMessage(), null));
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.vaultx.banking.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class AccountSummaryDto {
+    private Long customerId;
+    private BigDecimal currentBalance;
+    private BigDecimal totalCredits;
+    private BigDecimal totalDebits;
+    private BigDecimal totalTransfers;
+    private long transactionCount;
+    private LocalDateTime lastTransactionAt;
+
+    public Long getCustomerId() { return customerId; }
+    public void setCustomerId(Long customerId) { this.customerId = customerId; }
+
+    public BigDecimal getCurrentBalance() { return currentBalance; }
+    public void setCurrentBalance(BigDecimal currentBalance) { this.currentBalance = currentBalance; }
+
+    public BigDecimal getTotalCredits() { return totalCredits; }
+    public void setTotalCredits(BigDecimal totalCredits) { this.totalCredits = totalCredits; }
+
+    public BigDecimal getTotalDebits() { return totalDebits; }
+    public void setTotalDebits(BigDecimal totalDebits) { this.totalDebits = totalDebits; }
+
+    public BigDecimal getTotalTransfers() { return totalTransfers; }
+    public void setTotalTransfers(BigDecimal totalTransfers) { this.totalTransfers = totalTransfers; }
+
+    public long getTransactionCount() { return transactionCount; }
+    public void setTransactionCount(long transactionCount) { this.transactionCount = transactionCount; }
+
+    public LocalDateTime getLastTransactionAt() { return lastTransactionAt; }
+    public void setLastTransactionAt(LocalDateTime lastTransactionAt) { this.lastTransactionAt = lastTransactionAt; }
+}
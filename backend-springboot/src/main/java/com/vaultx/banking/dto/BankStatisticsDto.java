@@ -0,0 +1,23 @@
+package com.vaultx.banking.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class BankStatisticsDto {
+    private long approvedCustomers;
+    private long activeCustomers;
+    private BigDecimal totalApprovedBalance;
+    private LocalDateTime lastReconciledAt;
+
+    public long getApprovedCustomers() { return approvedCustomers; }
+    public void setApprovedCustomers(long approvedCustomers) { this.approvedCustomers = approvedCustomers; }
+
+    public long getActiveCustomers() { return activeCustomers; }
+    public void setActiveCustomers(long activeCustomers) { this.activeCustomers = activeCustomers; }
+
+    public BigDecimal getTotalApprovedBalance() { return totalApprovedBalance; }
+    public void setTotalApprovedBalance(BigDecimal totalApprovedBalance) { this.totalApprovedBalance = totalApprovedBalance; }
+
+    public LocalDateTime getLastReconciledAt() { return lastReconciledAt; }
+    public void setLastReconciledAt(LocalDateTime lastReconciledAt) { this.lastReconciledAt = lastReconciledAt; }
+}
@@ -0,0 +1,13 @@
+package com.vaultx.banking.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import java.util.List;
+
+public class BatchStatusUpdateRequestDto {
+    // Items are validated one by one so a bad row does not reject the whole batch
+    @NotEmpty(message = "At least one status update is required")
+    private List<CustomerStatusUpdateDto> updates;
+
+    public List<CustomerStatusUpdateDto> getUpdates() { return updates; }
+    public void setUpdates(List<CustomerStatusUpdateDto> updates) { this.updates = updates; }
+}
@@ -0,0 +1,40 @@
+package com.vaultx.banking.dto;
+
+public class BatchStatusUpdateResultDto {
+    private int index;
+    private Long customerId;
+    private boolean success;
+    private String message;
+    private String status;
+    private String accountNumber;
+
+    public BatchStatusUpdateResultDto() {}
+
+    public BatchStatusUpdateResultDto(int index, Long customerId, boolean success, String message, String status,
+                                      String accountNumber) {
+        this.index = index;
+        this.customerId = customerId;
+        this.success = success;
+        this.message = message;
+        this.status = status;
+        this.accountNumber = accountNumber;
+    }
+
+    public int getIndex() { return index; }
+    public void setIndex(int index) { this.index = index; }
+
+    public Long getCustomerId() { return customerId; }
+    public void setCustomerId(Long customerId) { this.customerId = customerId; }
+
+    public boolean isSuccess() { return success; }
+    public void setSuccess(boolean success) { this.success = success; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public String getAccountNumber() { return accountNumber; }
+    public void setAccountNumber(String accountNumber) { this.accountNumber = accountNumber; }
+}
@@ -0,0 +1,13 @@
+package com.vaultx.banking.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import java.util.List;
+
+public class BatchTransactionRequestDto {
+    // Items are validated one by one so a bad row does not reject the whole file
+    @NotEmpty(message = "At least one transaction is required")
+    private List<TransactionRequestDto> transactions;
+
+    public List<TransactionRequestDto> getTransactions() { return transactions; }
+    public void setTransactions(List<TransactionRequestDto> transactions) { this.transactions = transactions; }
+}
@@ -0,0 +1,34 @@
+package com.vaultx.banking.dto;
+
+public class BatchTransactionResultDto {
+    private int index;
+    private Long customerId;
+    private boolean success;
+    private String message;
+    private TransactionResponseDto transaction;
+
+    public BatchTransactionResultDto() {}
+
+    public BatchTransactionResultDto(int index, Long customerId, boolean success, String message, TransactionResponseDto transaction) {
+        this.index = index;
+        this.customerId = customerId;
+        this.success = success;
+        this.message = message;
+        this.transaction = transaction;
+    }
+
+    public int getIndex() { return index; }
+    public void setIndex(int index) { this.index = index; }
+
+    public Long getCustomerId() { return customerId; }
+    public void setCustomerId(Long customerId) { this.customerId = customerId; }
+
+    public boolean isSuccess() { return success; }
+    public void setSuccess(boolean success) { this.success = success; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+
+    public TransactionResponseDto getTransaction() { return transaction; }
+    public void setTransaction(TransactionResponseDto transaction) { this.transaction = transaction; }
+}
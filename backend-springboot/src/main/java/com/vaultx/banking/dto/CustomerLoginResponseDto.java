@@ -7,6 +7,8 @@ public class CustomerLoginResponseDto {
     private String lastName;
     private String status;
     private boolean canPerformOperations;
+    private String token;
+    private long expiresIn;
 
     public Long getCustomerId() { return customerId; }
     public void setCustomerId(Long customerId) { this.customerId = customerId; }
@@ -25,4 +27,11 @@ public class CustomerLoginResponseDto {
 
     public boolean isCanPerformOperations() { return canPerformOperations; }
     public void setCanPerformOperations(boolean canPerformOperations) { this.canPerformOperations = canPerformOperations; }
+
+    // Bearer token for the customer's own endpoints, valid for expiresIn milliseconds
+    public String getToken() { return token; }
+    public void setToken(String token) { this.token = token; }
+
+    public long getExpiresIn() { return expiresIn; }
+    public void setExpiresIn(long expiresIn) { this.expiresIn = expiresIn; }
 }
@@ -1,11 +1,16 @@
 package com.vaultx.banking.dto;
 
 public class CustomerStatusUpdateDto {
+    // Only used by the batch endpoint; the single update takes the id from the path
+    private Long customerId;
     private String status;
     private boolean kycCompleted;
     private boolean canPerformOperations;
     private String notes;
 
+    public Long getCustomerId() { return customerId; }
+    public void setCustomerId(Long customerId) { this.customerId = customerId; }
+
     public String getStatus() { return status; }
     public void setStatus(String status) { this.status = status; }
 
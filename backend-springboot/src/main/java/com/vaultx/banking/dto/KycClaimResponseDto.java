@@ -0,0 +1,27 @@
+package com.vaultx.banking.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class KycClaimResponseDto {
+    private String clerk;
+    private LocalDateTime leaseExpiresAt;
+    private List<CustomerResponseDto> customers;
+
+    public KycClaimResponseDto() {}
+
+    public KycClaimResponseDto(String clerk, LocalDateTime leaseExpiresAt, List<CustomerResponseDto> customers) {
+        this.clerk = clerk;
+        this.leaseExpiresAt = leaseExpiresAt;
+        this.customers = customers;
+    }
+
+    public String getClerk() { return clerk; }
+    public void setClerk(String clerk) { this.clerk = clerk; }
+
+    public LocalDateTime getLeaseExpiresAt() { return leaseExpiresAt; }
+    public void setLeaseExpiresAt(LocalDateTime leaseExpiresAt) { this.leaseExpiresAt = leaseExpiresAt; }
+
+    public List<CustomerResponseDto> getCustomers() { return customers; }
+    public void setCustomers(List<CustomerResponseDto> customers) { this.customers = customers; }
+}
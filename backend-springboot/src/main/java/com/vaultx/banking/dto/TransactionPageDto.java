@@ -0,0 +1,31 @@
+package com.vaultx.banking.dto;
+
+import java.util.List;
+
+public class TransactionPageDto {
+    private List<TransactionResponseDto> transactions;
+    private String nextCursor; // null on the last page
+    private boolean hasMore;
+    private int limit;
+
+    public TransactionPageDto() {}
+
+    public TransactionPageDto(List<TransactionResponseDto> transactions, String nextCursor, int limit) {
+        this.transactions = transactions;
+        this.nextCursor = nextCursor;
+        this.hasMore = nextCursor != null;
+        this.limit = limit;
+    }
+
+    public List<TransactionResponseDto> getTransactions() { return transactions; }
+    public void setTransactions(List<TransactionResponseDto> transactions) { this.transactions = transactions; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+
+    public int getLimit() { return limit; }
+    public void setLimit(int limit) { this.limit = limit; }
+}
@@ -4,6 +4,8 @@ import jakarta.validation.constraints.*;
 import java.math.BigDecimal;
 
 public class TransactionRequestDto {
+    private Long customerId; // Only used by batch submissions
+
     @NotNull(message = "Transaction type is required")
     private String type; // CREDIT, DEBIT, TRANSFER
 
@@ -16,6 +18,9 @@ public class TransactionRequestDto {
 
     private String recipientAccount;
 
+    public Long getCustomerId() { return customerId; }
+    public void setCustomerId(Long customerId) { this.customerId = customerId; }
+
     public String getType() { return type; }
     public void setType(String type) { this.type = type; }
 
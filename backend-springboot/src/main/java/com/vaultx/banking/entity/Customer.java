@@ -9,10 +9,19 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "customers")
+@Table(name = "customers", indexes = {
+        // Back the filtered, date-ranged employee listing, which pages in (submitted_date, id) order
+        @Index(name = "idx_customers_status_submitted", columnList = "status, submitted_date, id"),
+        @Index(name = "idx_customers_account_type_submitted", columnList = "account_type, submitted_date, id"),
+        @Index(name = "idx_customers_submitted", columnList = "submitted_date, id"),
+        // KYC work queue: expired-lease sweep and per-clerk lease renewal
+        @Index(name = "idx_customers_status_claim_expires", columnList = "status, claim_expires_at"),
+        @Index(name = "idx_customers_claimed_by", columnList = "claimed_by")
+})
 public class Customer {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "customer_seq")
+    @SequenceGenerator(name = "customer_seq", sequenceName = "customer_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -85,6 +94,13 @@ public class Customer {
     @Column(name = "manager_notes", columnDefinition = "TEXT")
     private String managerNotes;
 
+    // Lease on the customer while a clerk reviews it; cleared by any status change
+    @Column(name = "claimed_by", length = 100)
+    private String claimedBy;
+
+    @Column(name = "claim_expires_at")
+    private LocalDateTime claimExpiresAt;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
@@ -204,6 +220,12 @@ public class Customer {
     public String getManagerNotes() { return managerNotes; }
     public void setManagerNotes(String managerNotes) { this.managerNotes = managerNotes; }
 
+    public String getClaimedBy() { return claimedBy; }
+    public void setClaimedBy(String claimedBy) { this.claimedBy = claimedBy; }
+
+    public LocalDateTime getClaimExpiresAt() { return claimExpiresAt; }
+    public void setClaimExpiresAt(LocalDateTime claimExpiresAt) { this.claimExpiresAt = claimExpiresAt; }
+
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
@@ -0,0 +1,93 @@
+package com.vaultx.banking.entity;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Running totals per customer, maintained in the same transaction as each Transaction insert
+@Entity
+@Table(name = "customer_aggregates")
+public class CustomerAggregate implements Persistable<Long> {
+    @Id
+    @Column(name = "customer_id")
+    private Long customerId;
+
+    @Column(name = "total_credits", precision = 19, scale = 2)
+    private BigDecimal totalCredits = BigDecimal.ZERO;
+
+    @Column(name = "total_debits", precision = 19, scale = 2)
+    private BigDecimal totalDebits = BigDecimal.ZERO;
+
+    @Column(name = "total_transfers", precision = 19, scale = 2)
+    private BigDecimal totalTransfers = BigDecimal.ZERO;
+
+    @Column(name = "transaction_count")
+    private long transactionCount;
+
+    @Column(name = "last_transaction_at")
+    private LocalDateTime lastTransactionAt;
+
+    @Column(name = "last_transaction_id")
+    private Long lastTransactionId;
+
+    // Lets save() persist new rows directly instead of merging (the id is assigned, not generated)
+    @Transient
+    private boolean isNew = true;
+
+    @PostLoad
+    @PostPersist
+    protected void markNotNew() {
+        isNew = false;
+    }
+
+    // Constructors
+    public CustomerAggregate() {}
+
+    public CustomerAggregate(Long customerId) {
+        this.customerId = customerId;
+    }
+
+    public void record(Transaction transaction) {
+        switch (transaction.getTransactionType()) {
+            case CREDIT -> totalCredits = totalCredits.add(transaction.getAmount());
+            case DEBIT -> totalDebits = totalDebits.add(transaction.getAmount());
+            case TRANSFER -> totalTransfers = totalTransfers.add(transaction.getAmount());
+        }
+        transactionCount++;
+        if (lastTransactionAt == null || transaction.getCreatedAt().isAfter(lastTransactionAt)) {
+            lastTransactionAt = transaction.getCreatedAt();
+        }
+        if (lastTransactionId == null || transaction.getId() > lastTransactionId) {
+            lastTransactionId = transaction.getId();
+        }
+    }
+
+    @Override
+    public Long getId() { return customerId; }
+
+    @Override
+    public boolean isNew() { return isNew; }
+
+    // Getters and Setters
+    public Long getCustomerId() { return customerId; }
+    public void setCustomerId(Long customerId) { this.customerId = customerId; }
+
+    public BigDecimal getTotalCredits() { return totalCredits; }
+    public void setTotalCredits(BigDecimal totalCredits) { this.totalCredits = totalCredits; }
+
+    public BigDecimal getTotalDebits() { return totalDebits; }
+    public void setTotalDebits(BigDecimal totalDebits) { this.totalDebits = totalDebits; }
+
+    public BigDecimal getTotalTransfers() { return totalTransfers; }
+    public void setTotalTransfers(BigDecimal totalTransfers) { this.totalTransfers = totalTransfers; }
+
+    public long getTransactionCount() { return transactionCount; }
+    public void setTransactionCount(long transactionCount) { this.transactionCount = transactionCount; }
+
+    public LocalDateTime getLastTransactionAt() { return lastTransactionAt; }
+    public void setLastTransactionAt(LocalDateTime lastTransactionAt) { this.lastTransactionAt = lastTransactionAt; }
+
+    public Long getLastTransactionId() { return lastTransactionId; }
+    public void setLastTransactionId(Long lastTransactionId) { this.lastTransactionId = lastTransactionId; }
+}
@@ -0,0 +1,76 @@
+package com.vaultx.banking.entity;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+import java.time.LocalDateTime;
+
+// A completed request's Idempotency-Key, written in the same transaction as the ledger rows it produced
+@Entity
+@Table(name = "idempotency_keys", indexes = {
+        // Covers the TTL purge
+        @Index(name = "idx_idempotency_keys_created_at", columnList = "created_at")
+})
+public class IdempotencyRecord implements Persistable<String> {
+    public static final int MAX_KEY_LENGTH = 100;
+
+    // Scoped to the customer as "<customerId>:<key>"
+    @Id
+    @Column(name = "idempotency_key", length = MAX_KEY_LENGTH + 21)
+    private String idempotencyKey;
+
+    @Column(name = "customer_id", nullable = false)
+    private Long customerId;
+
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    @Column(name = "reference_number", nullable = false)
+    private String referenceNumber;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Always inserted, never merged: a duplicate key must fail on the primary key
+    @Transient
+    private boolean isNew = true;
+
+    @PostLoad
+    @PostPersist
+    protected void markNotNew() {
+        isNew = false;
+    }
+
+    // Constructors
+    public IdempotencyRecord() {}
+
+    public IdempotencyRecord(String idempotencyKey, Long customerId, String requestHash, String referenceNumber,
+                             LocalDateTime createdAt) {
+        this.idempotencyKey = idempotencyKey;
+        this.customerId = customerId;
+        this.requestHash = requestHash;
+        this.referenceNumber = referenceNumber;
+        this.createdAt = createdAt;
+    }
+
+    @Override
+    public String getId() { return idempotencyKey; }
+
+    @Override
+    public boolean isNew() { return isNew; }
+
+    // Getters and Setters
+    public String getIdempotencyKey() { return idempotencyKey; }
+    public void setIdempotencyKey(String idempotencyKey) { this.idempotencyKey = idempotencyKey; }
+
+    public Long getCustomerId() { return customerId; }
+    public void setCustomerId(Long customerId) { this.customerId = customerId; }
+
+    public String getRequestHash() { return requestHash; }
+    public void setRequestHash(String requestHash) { this.requestHash = requestHash; }
+
+    public String getReferenceNumber() { return referenceNumber; }
+    public void setReferenceNumber(String referenceNumber) { this.referenceNumber = referenceNumber; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
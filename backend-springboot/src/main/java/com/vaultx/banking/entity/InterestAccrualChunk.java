@@ -0,0 +1,84 @@
+package com.vaultx.banking.entity;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// A committed chunk of an interest run, written in the same transaction as its credits
+@Entity
+@Table(name = "interest_accrual_chunks", indexes = {
+        // Lists a run's finished chunks when it resumes
+        @Index(name = "idx_interest_accrual_chunks_date", columnList = "accrual_date")
+})
+public class InterestAccrualChunk implements Persistable<String> {
+
+    // "<accrualDate>:<chunkIndex>"
+    @Id
+    @Column(name = "chunk_key", length = 32)
+    private String chunkKey;
+
+    @Column(name = "accrual_date", nullable = false)
+    private LocalDate accrualDate;
+
+    @Column(name = "chunk_index", nullable = false)
+    private int chunkIndex;
+
+    @Column(name = "accounts_credited", nullable = false)
+    private int accountsCredited;
+
+    @Column(name = "interest_credited", nullable = false, precision = 19, scale = 2)
+    private BigDecimal interestCredited;
+
+    @Column(name = "completed_at", nullable = false)
+    private LocalDateTime completedAt;
+
+    // Always inserted, never merged: finishing a chunk twice must fail on the primary key
+    @Transient
+    private boolean isNew = true;
+
+    @PostLoad
+    @PostPersist
+    protected void markNotNew() {
+        isNew = false;
+    }
+
+    // Constructors
+    public InterestAccrualChunk() {}
+
+    public InterestAccrualChunk(LocalDate accrualDate, int chunkIndex, int accountsCredited,
+                                BigDecimal interestCredited, LocalDateTime completedAt) {
+        this.chunkKey = accrualDate + ":" + chunkIndex;
+        this.accrualDate = accrualDate;
+        this.chunkIndex = chunkIndex;
+        this.accountsCredited = accountsCredited;
+        this.interestCredited = interestCredited;
+        this.completedAt = completedAt;
+    }
+
+    @Override
+    public String getId() { return chunkKey; }
+
+    @Override
+    public boolean isNew() { return isNew; }
+
+    // Getters and Setters
+    public String getChunkKey() { return chunkKey; }
+    public void setChunkKey(String chunkKey) { this.chunkKey = chunkKey; }
+
+    public LocalDate getAccrualDate() { return accrualDate; }
+    public void setAccrualDate(LocalDate accrualDate) { this.accrualDate = accrualDate; }
+
+    public int getChunkIndex() { return chunkIndex; }
+    public void setChunkIndex(int chunkIndex) { this.chunkIndex = chunkIndex; }
+
+    public int getAccountsCredited() { return accountsCredited; }
+    public void setAccountsCredited(int accountsCredited) { this.accountsCredited = accountsCredited; }
+
+    public BigDecimal getInterestCredited() { return interestCredited; }
+    public void setInterestCredited(BigDecimal interestCredited) { this.interestCredited = interestCredited; }
+
+    public LocalDateTime getCompletedAt() { return completedAt; }
+    public void setCompletedAt(LocalDateTime completedAt) { this.completedAt = completedAt; }
+}
@@ -0,0 +1,93 @@
+package com.vaultx.banking.entity;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// One interest accrual per date; its parameters and id range are fixed when it starts, so a resumed run matches
+@Entity
+@Table(name = "interest_accrual_runs")
+public class InterestAccrualRun {
+
+    @Id
+    @Column(name = "accrual_date")
+    private LocalDate accrualDate;
+
+    @Column(name = "annual_rate_bps", nullable = false)
+    private int annualRateBps;
+
+    @Column(name = "period_days", nullable = false)
+    private int periodDays;
+
+    @Column(name = "first_customer_id", nullable = false)
+    private long firstCustomerId;
+
+    @Column(name = "last_customer_id", nullable = false)
+    private long lastCustomerId;
+
+    @Column(name = "chunk_size", nullable = false)
+    private int chunkSize;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private RunStatus status;
+
+    @Column(name = "accounts_credited")
+    private long accountsCredited;
+
+    @Column(name = "interest_credited", precision = 19, scale = 2)
+    private BigDecimal interestCredited;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    public enum RunStatus {
+        RUNNING, COMPLETED
+    }
+
+    // Constructors
+    public InterestAccrualRun() {}
+
+    // Chunks cover consecutive id ranges of chunkSize from firstCustomerId through lastCustomerId
+    public int getChunkCount() {
+        return lastCustomerId < firstCustomerId ? 0 : (int) ((lastCustomerId - firstCustomerId) / chunkSize + 1);
+    }
+
+    // Getters and Setters
+    public LocalDate getAccrualDate() { return accrualDate; }
+    public void setAccrualDate(LocalDate accrualDate) { this.accrualDate = accrualDate; }
+
+    public int getAnnualRateBps() { return annualRateBps; }
+    public void setAnnualRateBps(int annualRateBps) { this.annualRateBps = annualRateBps; }
+
+    public int getPeriodDays() { return periodDays; }
+    public void setPeriodDays(int periodDays) { this.periodDays = periodDays; }
+
+    public long getFirstCustomerId() { return firstCustomerId; }
+    public void setFirstCustomerId(long firstCustomerId) { this.firstCustomerId = firstCustomerId; }
+
+    public long getLastCustomerId() { return lastCustomerId; }
+    public void setLastCustomerId(long lastCustomerId) { this.lastCustomerId = lastCustomerId; }
+
+    public int getChunkSize() { return chunkSize; }
+    public void setChunkSize(int chunkSize) { this.chunkSize = chunkSize; }
+
+    public RunStatus getStatus() { return status; }
+    public void setStatus(RunStatus status) { this.status = status; }
+
+    public long getAccountsCredited() { return accountsCredited; }
+    public void setAccountsCredited(long accountsCredited) { this.accountsCredited = accountsCredited; }
+
+    public BigDecimal getInterestCredited() { return interestCredited; }
+    public void setInterestCredited(BigDecimal interestCredited) { this.interestCredited = interestCredited; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+
+    public LocalDateTime getCompletedAt() { return completedAt; }
+    public void setCompletedAt(LocalDateTime completedAt) { this.completedAt = completedAt; }
+}
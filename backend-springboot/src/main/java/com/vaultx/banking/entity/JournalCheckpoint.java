@@ -0,0 +1,31 @@
+package com.vaultx.banking.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+// Journal offset up to which every record has been projected; updated in the same transaction as the projection
+@Entity
+@Table(name = "ledger_journal_checkpoint")
+public class JournalCheckpoint {
+    public static final Integer SINGLETON_ID = 1;
+
+    @Id
+    private Integer id = SINGLETON_ID;
+
+    @Column(name = "projected_offset")
+    private long projectedOffset;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public JournalCheckpoint() {}
+
+    public Integer getId() { return id; }
+    public void setId(Integer id) { this.id = id; }
+
+    public long getProjectedOffset() { return projectedOffset; }
+    public void setProjectedOffset(long projectedOffset) { this.projectedOffset = projectedOffset; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
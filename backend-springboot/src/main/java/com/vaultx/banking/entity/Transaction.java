@@ -6,10 +6,14 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+        // Covers keyset pagination of a customer's history on (created_at, id)
+        @Index(name = "idx_transactions_customer_created_id", columnList = "customer_id, created_at, id")
+})
 public class Transaction {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_seq")
+    @SequenceGenerator(name = "transaction_seq", sequenceName = "transaction_seq", allocationSize = 50)
     private Long id;
 
     @NotNull
@@ -52,13 +56,13 @@ public class Transaction {
 
     @PrePersist
     protected void onCreate() {
-        createdAt = LocalDateTime.now();
+        // Journal projections carry the time the transaction was acknowledged
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
         if (status == null) {
             status = TransactionStatus.PENDING;
         }
-        if (referenceNumber == null) {
-            referenceNumber = "TXN" + System.currentTimeMillis();
-        }
     }
 
     // Constructors
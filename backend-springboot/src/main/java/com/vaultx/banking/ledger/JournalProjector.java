@@ -0,0 +1,123 @@
+package com.vaultx.banking.ledger;
+
+import com.vaultx.banking.entity.JournalCheckpoint;
+import com.vaultx.banking.repository.JournalCheckpointRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Copies durable journal records into the database in batches. On startup it
+ * first replays, synchronously, everything after the last projected offset,
+ * so the tables are current before the application accepts requests.
+ */
+@Component
+public class JournalProjector implements Runnable {
+
+    private static final Logger log = LoggerFactory.getLogger(JournalProjector.class);
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long RETRY_BACKOFF_MILLIS = 1000;
+
+    @Autowired
+    private LedgerJournal journal;
+
+    @Autowired
+    private LedgerWriter ledgerWriter;
+
+    @Autowired
+    private JournaledLedger journaledLedger;
+
+    @Autowired
+    private JournalCheckpointRepository journalCheckpointRepository;
+
+    @Value("${ledger.journal.projector-batch-size:500}")
+    private int batchSize;
+
+    private Thread worker;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!journal.isEnabled()) {
+            return;
+        }
+        Long checkpoint = journalCheckpointRepository.findById(JournalCheckpoint.SINGLETON_ID)
+                .map(JournalCheckpoint::getProjectedOffset)
+                .orElse(null);
+        journal.setDurableListener(() -> LockSupport.unpark(worker));
+        List<LedgerJournal.JournalEntry> backlog = journal.open(checkpoint);
+        if (checkpoint == null) {
+            JournalCheckpoint initial = new JournalCheckpoint();
+            initial.setUpdatedAt(LocalDateTime.now());
+            journalCheckpointRepository.save(initial);
+        }
+
+        if (!backlog.isEmpty()) {
+            log.info("Replaying {} journal records from offset {}", backlog.size(), checkpoint);
+            for (int from = 0; from < backlog.size(); from += batchSize) {
+                project(backlog.subList(from, Math.min(from + batchSize, backlog.size())));
+            }
+        }
+
+        running = true;
+        worker = new Thread(this, "ledger-journal-projector");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (worker == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(worker);
+        worker.join();
+    }
+
+    @Override
+    public void run() {
+        List<LedgerJournal.JournalEntry> batch = new ArrayList<>(batchSize);
+        while (running) {
+            LedgerJournal.JournalEntry entry;
+            while (batch.size() < batchSize && (entry = journal.pollDurable()) != null) {
+                batch.add(entry);
+            }
+            if (batch.isEmpty()) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                continue;
+            }
+            try {
+                project(batch);
+                batch.clear();
+            } catch (RuntimeException e) {
+                // Records must be projected in order, so keep the batch and retry it; replay covers a shutdown
+                log.warn("Journal projection failed at offset {}, retrying", batch.get(0).getEndOffset(), e);
+                LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(RETRY_BACKOFF_MILLIS));
+            }
+        }
+    }
+
+    private void project(List<LedgerJournal.JournalEntry> entries) {
+        List<JournalRecord> records = new ArrayList<>(entries.size());
+        for (LedgerJournal.JournalEntry entry : entries) {
+            records.add(entry.getRecord());
+        }
+        long endOffset = entries.get(entries.size() - 1).getEndOffset();
+        ledgerWriter.project(records, endOffset);
+        journaledLedger.projected(records);
+        journal.release(endOffset);
+    }
+}
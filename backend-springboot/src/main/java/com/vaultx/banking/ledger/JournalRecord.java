@@ -0,0 +1,222 @@
+package com.vaultx.banking.ledger;
+
+import com.vaultx.banking.entity.Customer;
+import com.vaultx.banking.entity.Transaction;
+import com.vaultx.banking.util.Money;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * One completed ledger transaction as written to the journal. Amounts are
+ * stored as fixed-point minor units, strings as length-prefixed UTF-8. A
+ * transfer carries its recipient's side in the same record, so the debit and
+ * the paired credit are always replayed together or not at all; likewise an
+ * Idempotency-Key is projected together with the transaction it produced.
+ */
+public class JournalRecord {
+
+    private static final byte FORMAT_VERSION = 3;
+    private static final Transaction.TransactionType[] TYPES = Transaction.TransactionType.values();
+
+    private final Long customerId;
+    private final Transaction.TransactionType type;
+    private final BigDecimal amount;
+    private final BigDecimal balanceAfter;
+    private final String description;
+    private final String recipientAccount;
+    private final String referenceNumber;
+    private final LocalDateTime createdAt;
+    private final Long counterpartyId;
+    private final BigDecimal counterpartyBalanceAfter;
+    private final String senderAccount;
+    private final String idempotencyKey;
+    private final String requestHash;
+
+    public JournalRecord(Long customerId, Transaction.TransactionType type, BigDecimal amount, BigDecimal balanceAfter,
+                         String description, String recipientAccount, String referenceNumber, LocalDateTime createdAt) {
+        this(customerId, type, amount, balanceAfter, description, recipientAccount, referenceNumber, createdAt,
+                null, null, null);
+    }
+
+    public JournalRecord(Long customerId, Transaction.TransactionType type, BigDecimal amount, BigDecimal balanceAfter,
+                         String description, String recipientAccount, String referenceNumber, LocalDateTime createdAt,
+                         Long counterpartyId, BigDecimal counterpartyBalanceAfter, String senderAccount) {
+        this(customerId, type, amount, balanceAfter, description, recipientAccount, referenceNumber, createdAt,
+                counterpartyId, counterpartyBalanceAfter, senderAccount, null, null);
+    }
+
+    private JournalRecord(Long customerId, Transaction.TransactionType type, BigDecimal amount, BigDecimal balanceAfter,
+                          String description, String recipientAccount, String referenceNumber, LocalDateTime createdAt,
+                          Long counterpartyId, BigDecimal counterpartyBalanceAfter, String senderAccount,
+                          String idempotencyKey, String requestHash) {
+        this.customerId = customerId;
+        this.type = type;
+        this.amount = amount;
+        this.balanceAfter = balanceAfter;
+        this.description = description;
+        this.recipientAccount = recipientAccount;
+        this.referenceNumber = referenceNumber;
+        this.createdAt = createdAt;
+        this.counterpartyId = counterpartyId;
+        this.counterpartyBalanceAfter = counterpartyBalanceAfter;
+        this.senderAccount = senderAccount;
+        this.idempotencyKey = idempotencyKey;
+        this.requestHash = requestHash;
+    }
+
+    public JournalRecord withIdempotencyKey(String idempotencyKey, String requestHash) {
+        return new JournalRecord(customerId, type, amount, balanceAfter, description, recipientAccount,
+                referenceNumber, createdAt, counterpartyId, counterpartyBalanceAfter, senderAccount,
+                idempotencyKey, requestHash);
+    }
+
+    public Long getCustomerId() { return customerId; }
+
+    public Transaction.TransactionType getType() { return type; }
+
+    public BigDecimal getAmount() { return amount; }
+
+    public BigDecimal getBalanceAfter() { return balanceAfter; }
+
+    public String getDescription() { return description; }
+
+    public String getRecipientAccount() { return recipientAccount; }
+
+    public String getReferenceNumber() { return referenceNumber; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    // Transfer recipient, or null for single-account transactions
+    public Long getCounterpartyId() { return counterpartyId; }
+
+    public BigDecimal getCounterpartyBalanceAfter() { return counterpartyBalanceAfter; }
+
+    public String getSenderAccount() { return senderAccount; }
+
+    // Scoped key of the request that produced this record, or null
+    public String getIdempotencyKey() { return idempotencyKey; }
+
+    public String getRequestHash() { return requestHash; }
+
+    public Transaction toTransaction(Customer customer) {
+        Transaction transaction = new Transaction();
+        transaction.setCustomer(customer);
+        transaction.setTransactionType(type);
+        transaction.setAmount(amount);
+        transaction.setBalanceAfter(balanceAfter);
+        transaction.setDescription(description);
+        transaction.setRecipientAccount(recipientAccount);
+        transaction.setReferenceNumber(referenceNumber);
+        transaction.setStatus(Transaction.TransactionStatus.COMPLETED);
+        transaction.setCreatedAt(createdAt);
+        return transaction;
+    }
+
+    // The recipient's paired credit for a transfer record
+    public Transaction toCounterpartyTransaction(Customer counterparty) {
+        Transaction transaction = new Transaction();
+        transaction.setCustomer(counterparty);
+        transaction.setTransactionType(Transaction.TransactionType.CREDIT);
+        transaction.setAmount(amount);
+        transaction.setBalanceAfter(counterpartyBalanceAfter);
+        transaction.setDescription(description);
+        transaction.setRecipientAccount(senderAccount);
+        transaction.setReferenceNumber(referenceNumber + LedgerWriter.PAIRED_CREDIT_SUFFIX);
+        transaction.setStatus(Transaction.TransactionStatus.COMPLETED);
+        transaction.setCreatedAt(createdAt);
+        return transaction;
+    }
+
+    byte[] encode() {
+        byte[] description = bytes(this.description);
+        byte[] recipientAccount = bytes(this.recipientAccount);
+        byte[] referenceNumber = bytes(this.referenceNumber);
+        byte[] senderAccount = bytes(this.senderAccount);
+        byte[] idempotencyKey = bytes(this.idempotencyKey);
+        byte[] requestHash = bytes(this.requestHash);
+        int size = 1 + 8 + 1 + 8 + 8 + 8 + 4
+                + stringSize(description) + stringSize(recipientAccount) + stringSize(referenceNumber)
+                + 1 + (counterpartyId != null ? 8 + 8 + stringSize(senderAccount) : 0)
+                + stringSize(idempotencyKey) + stringSize(requestHash);
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.put(FORMAT_VERSION);
+        buffer.putLong(customerId);
+        buffer.put((byte) type.ordinal());
+        buffer.putLong(Money.toMinor(amount));
+        buffer.putLong(Money.toMinor(balanceAfter));
+        buffer.putLong(createdAt.toEpochSecond(ZoneOffset.UTC));
+        buffer.putInt(createdAt.getNano());
+        putString(buffer, description);
+        putString(buffer, recipientAccount);
+        putString(buffer, referenceNumber);
+        buffer.put((byte) (counterpartyId != null ? 1 : 0));
+        if (counterpartyId != null) {
+            buffer.putLong(counterpartyId);
+            buffer.putLong(Money.toMinor(counterpartyBalanceAfter));
+            putString(buffer, senderAccount);
+        }
+        putString(buffer, idempotencyKey);
+        putString(buffer, requestHash);
+        return buffer.array();
+    }
+
+    static JournalRecord decode(ByteBuffer buffer) {
+        byte version = buffer.get();
+        if (version < 1 || version > FORMAT_VERSION) {
+            throw new IllegalStateException("Unsupported journal record version " + version);
+        }
+        long customerId = buffer.getLong();
+        Transaction.TransactionType type = TYPES[buffer.get()];
+        BigDecimal amount = Money.fromMinor(buffer.getLong());
+        BigDecimal balanceAfter = Money.fromMinor(buffer.getLong());
+        LocalDateTime createdAt = LocalDateTime.ofEpochSecond(buffer.getLong(), buffer.getInt(), ZoneOffset.UTC);
+        String description = getString(buffer);
+        String recipientAccount = getString(buffer);
+        String referenceNumber = getString(buffer);
+        // Version 1 records predate transfers, version 2 records predate idempotency keys
+        Long counterpartyId = null;
+        BigDecimal counterpartyBalanceAfter = null;
+        String senderAccount = null;
+        if (version >= 2 && buffer.get() != 0) {
+            counterpartyId = buffer.getLong();
+            counterpartyBalanceAfter = Money.fromMinor(buffer.getLong());
+            senderAccount = getString(buffer);
+        }
+        String idempotencyKey = version >= 3 ? getString(buffer) : null;
+        String requestHash = version >= 3 ? getString(buffer) : null;
+        return new JournalRecord(customerId, type, amount, balanceAfter, description, recipientAccount,
+                referenceNumber, createdAt, counterpartyId, counterpartyBalanceAfter, senderAccount,
+                idempotencyKey, requestHash);
+    }
+
+    private static byte[] bytes(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static int stringSize(byte[] value) {
+        return 4 + (value != null ? value.length : 0);
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] value) {
+        if (value == null) {
+            buffer.putInt(-1);
+            return;
+        }
+        buffer.putInt(value.length);
+        buffer.put(value);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] value = new byte[length];
+        buffer.get(value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+}
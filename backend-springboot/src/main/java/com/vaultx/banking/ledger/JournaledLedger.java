@@ -0,0 +1,258 @@
+package com.vaultx.banking.ledger;
+
+import com.vaultx.banking.entity.Customer;
+import com.vaultx.banking.entity.Transaction;
+import com.vaultx.banking.metrics.BankingMetrics;
+import com.vaultx.banking.repository.CustomerRepository;
+import com.vaultx.banking.util.SnowflakeIdGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Journal-mode counterpart of {@link LedgerWriter#apply}: validates a shard's
+ * batch against in-memory account state, appends the outcome to the
+ * {@link LedgerJournal} and returns once it is durable. The database catches
+ * up through the {@link JournalProjector}.
+ *
+ * Account state is loaded from the database on first use and never evicted,
+ * so it is always ahead of (never behind) the projected rows. A batch holds
+ * the locks of every account it touches, taken in ascending id order, until
+ * its records are durable, so cross-shard transfers cannot deadlock or
+ * interleave.
+ *
+ * Idempotency keys reach the database only with their projected records, so
+ * until the projector passes a record its key is held here, where it cannot
+ * be evicted; a retry in that window is answered from the journal instead of
+ * being applied again.
+ */
+@Component
+class JournaledLedger {
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private LedgerJournal journal;
+
+    @Autowired
+    private SnowflakeIdGenerator idGenerator;
+
+    @Autowired
+    private BankingMetrics bankingMetrics;
+
+    private final ConcurrentMap<Long, AccountState> accounts = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, JournalRecord> unprojectedKeys = new ConcurrentHashMap<>();
+
+    List<LedgerResult> apply(List<LedgerCommand> commands) {
+        // Transfers can reach accounts owned by other shards, so every touched account is locked in ascending id order
+        Map<String, Long> recipientIds = new HashMap<>();
+        Map<Long, AccountState> touched = new TreeMap<>();
+        for (LedgerCommand command : commands) {
+            touch(touched, command.getCustomerId());
+            String recipientAccount = command.getRecipientAccount();
+            if (command.getType() == Transaction.TransactionType.TRANSFER && recipientAccount != null
+                    && !recipientIds.containsKey(recipientAccount)) {
+                Long recipientId = customerRepository.findIdByAccountNumber(recipientAccount).orElse(null);
+                recipientIds.put(recipientAccount, recipientId);
+                if (recipientId != null) {
+                    touch(touched, recipientId);
+                }
+            }
+        }
+
+        List<ReentrantLock> held = new ArrayList<>(touched.size());
+        try {
+            for (AccountState account : touched.values()) {
+                if (account != null) {
+                    account.lock.lock();
+                    held.add(account.lock);
+                }
+            }
+            return applyLocked(commands, touched, recipientIds);
+        } finally {
+            for (ReentrantLock lock : held) {
+                lock.unlock();
+            }
+        }
+    }
+
+    private List<LedgerResult> applyLocked(List<LedgerCommand> commands, Map<Long, AccountState> touched,
+                                           Map<String, Long> recipientIds) {
+        List<LedgerResult> results = new ArrayList<>(commands.size());
+        List<JournalRecord> records = new ArrayList<>(commands.size());
+        List<String> rejections = new ArrayList<>();
+        // Balances as of this batch; published to the shared state only once the batch is durable
+        Map<Long, BigDecimal> balances = new HashMap<>();
+        LocalDateTime now = LocalDateTime.now();
+
+        for (LedgerCommand command : commands) {
+            AccountState account = touched.get(command.getCustomerId());
+            BigDecimal amount = command.getAmount();
+            Transaction.TransactionType type = command.getType();
+            BigDecimal balance = account != null ? balances.getOrDefault(command.getCustomerId(), account.balance) : null;
+            String rejection = validate(command, account, balance);
+            Long recipientId = null;
+            if (rejection == null && type == Transaction.TransactionType.TRANSFER) {
+                recipientId = recipientIds.get(command.getRecipientAccount());
+                rejection = validateRecipient(command.getCustomerId(), recipientId,
+                        recipientId != null ? touched.get(recipientId) : null);
+            }
+            if (rejection != null) {
+                results.add(LedgerResult.failure(rejection));
+                rejections.add(LedgerWriter.REJECTION_REASONS.get(rejection));
+                continue;
+            }
+
+            BigDecimal newBalance = type == Transaction.TransactionType.CREDIT ? balance.add(amount) : balance.subtract(amount);
+            balances.put(command.getCustomerId(), newBalance);
+            String referenceNumber = "TXN" + idGenerator.nextId();
+            JournalRecord record;
+            if (recipientId != null) {
+                BigDecimal recipientBalance = balances.getOrDefault(recipientId, touched.get(recipientId).balance).add(amount);
+                balances.put(recipientId, recipientBalance);
+                record = new JournalRecord(command.getCustomerId(), type, amount, newBalance, command.getDescription(),
+                        command.getRecipientAccount(), referenceNumber, now, recipientId, recipientBalance,
+                        account.accountNumber);
+            } else {
+                record = new JournalRecord(command.getCustomerId(), type, amount, newBalance, command.getDescription(),
+                        command.getRecipientAccount(), referenceNumber, now);
+            }
+            if (command.getIdempotencyKey() != null) {
+                record = record.withIdempotencyKey(command.getIdempotencyKey(), command.getRequestHash());
+            }
+            records.add(record);
+            results.add(LedgerResult.success(record.toTransaction(null)));
+        }
+
+        if (!records.isEmpty()) {
+            // Registered before the append, since the projector may pass a record as soon as it is durable
+            for (JournalRecord record : records) {
+                if (record.getIdempotencyKey() != null) {
+                    unprojectedKeys.put(record.getIdempotencyKey(), record);
+                }
+            }
+            try {
+                journal.append(records).join();
+            } catch (RuntimeException e) {
+                forget(records);
+                if (e instanceof CompletionException && e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+        }
+        balances.forEach((customerId, balance) -> touched.get(customerId).balance = balance);
+        for (JournalRecord record : records) {
+            bankingMetrics.recordTransaction(record.getType(), record.getAmount());
+        }
+        for (String reason : rejections) {
+            bankingMetrics.recordRejection(reason);
+        }
+        return results;
+    }
+
+    // Same rules and messages as LedgerWriter, against the in-memory state
+    private static String validate(LedgerCommand command, AccountState account, BigDecimal balance) {
+        if (account == null) {
+            return LedgerWriter.CUSTOMER_NOT_FOUND;
+        }
+        if (!account.canPerformOperations) {
+            return LedgerWriter.NOT_AUTHORIZED;
+        }
+        if (command.getType() == Transaction.TransactionType.TRANSFER
+                && (command.getRecipientAccount() == null || command.getRecipientAccount().isBlank())) {
+            return LedgerWriter.RECIPIENT_REQUIRED;
+        }
+        if (command.getType() != Transaction.TransactionType.CREDIT && balance.compareTo(command.getAmount()) < 0) {
+            return LedgerWriter.INSUFFICIENT_BALANCE;
+        }
+        return null;
+    }
+
+    private static String validateRecipient(Long senderId, Long recipientId, AccountState recipient) {
+        if (recipient == null) {
+            return LedgerWriter.RECIPIENT_NOT_FOUND;
+        }
+        if (recipientId.equals(senderId)) {
+            return LedgerWriter.SAME_ACCOUNT;
+        }
+        if (!recipient.canPerformOperations) {
+            return LedgerWriter.RECIPIENT_INACTIVE;
+        }
+        return null;
+    }
+
+    private void touch(Map<Long, AccountState> touched, Long customerId) {
+        if (!touched.containsKey(customerId)) {
+            touched.put(customerId, account(customerId));
+        }
+    }
+
+    // Latest durable balance, or null if the account has not been touched through the journal
+    BigDecimal balance(Long customerId) {
+        AccountState account = accounts.get(customerId);
+        return account != null ? account.balance : null;
+    }
+
+    // The durable record produced under an idempotency key that the projector has not reached yet, or null
+    JournalRecord unprojected(String idempotencyKey) {
+        return unprojectedKeys.get(idempotencyKey);
+    }
+
+    // Call once the checkpoint has passed these records; their keys are in the database from then on
+    void projected(List<JournalRecord> records) {
+        forget(records);
+    }
+
+    private void forget(List<JournalRecord> records) {
+        for (JournalRecord record : records) {
+            if (record.getIdempotencyKey() != null) {
+                unprojectedKeys.remove(record.getIdempotencyKey(), record);
+            }
+        }
+    }
+
+    // Call after a committed status change; waits for any concurrent first load of the account
+    void customerUpdated(Customer customer) {
+        accounts.computeIfPresent(customer.getId(), (customerId, account) -> {
+            account.canPerformOperations = customer.isCanPerformOperations();
+            account.accountNumber = customer.getAccountNumber();
+            return account;
+        });
+    }
+
+    private AccountState account(Long customerId) {
+        AccountState account = accounts.get(customerId);
+        if (account != null) {
+            return account;
+        }
+        // Loaded inside compute so a concurrent customerUpdated cannot slip between the read and the insert
+        return accounts.computeIfAbsent(customerId,
+                key -> customerRepository.findById(key).map(AccountState::new).orElse(null));
+    }
+
+    private static class AccountState {
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile String accountNumber;
+        private volatile BigDecimal balance;
+        private volatile boolean canPerformOperations;
+
+        private AccountState(Customer customer) {
+            this.accountNumber = customer.getAccountNumber();
+            this.balance = customer.getCurrentBalance();
+            this.canPerformOperations = customer.isCanPerformOperations();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.vaultx.banking.ledger;
+
+import com.vaultx.banking.entity.Transaction;
+import com.vaultx.banking.metrics.QueryCountingStatementInspector;
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class LedgerCommand {
+    private final Long customerId;
+    private final Transaction.TransactionType type;
+    private final BigDecimal amount;
+    private final String description;
+    private final String recipientAccount;
+    private final String idempotencyKey;
+    private final String requestHash;
+    // The creating thread's statement counter; the shard writer credits the command's share of its batch here
+    private final AtomicInteger statementCounter = QueryCountingStatementInspector.counter();
+
+    public LedgerCommand(Long customerId, Transaction.TransactionType type, BigDecimal amount,
+                         String description, String recipientAccount) {
+        this(customerId, type, amount, description, recipientAccount, null, null);
+    }
+
+    // A key is recorded with the transaction it produced, in the same unit of work
+    public LedgerCommand(Long customerId, Transaction.TransactionType type, BigDecimal amount,
+                         String description, String recipientAccount, String idempotencyKey, String requestHash) {
+        this.customerId = customerId;
+        this.type = type;
+        this.amount = amount;
+        this.description = description;
+        this.recipientAccount = recipientAccount;
+        this.idempotencyKey = idempotencyKey;
+        this.requestHash = requestHash;
+    }
+
+    public Long getCustomerId() { return customerId; }
+
+    public Transaction.TransactionType getType() { return type; }
+
+    public BigDecimal getAmount() { return amount; }
+
+    public String getDescription() { return description; }
+
+    public String getRecipientAccount() { return recipientAccount; }
+
+    public String getIdempotencyKey() { return idempotencyKey; }
+
+    public String getRequestHash() { return requestHash; }
+
+    AtomicInteger getStatementCounter() { return statementCounter; }
+}
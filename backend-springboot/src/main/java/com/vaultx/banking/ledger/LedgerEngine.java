@@ -0,0 +1,107 @@
+package com.vaultx.banking.ledger;
+
+import com.vaultx.banking.entity.Customer;
+import com.vaultx.banking.entity.Transaction;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Routes every balance change to the shard that owns the customer, so all
+ * writes for one account are serialized on one worker while independent
+ * accounts proceed in parallel on the others.
+ */
+@Component
+public class LedgerEngine {
+
+    @Autowired
+    private LedgerWriter ledgerWriter;
+
+    @Autowired
+    private JournaledLedger journaledLedger;
+
+    @Autowired
+    private LedgerJournal journal;
+
+    @Value("${ledger.shards:0}")
+    private int shardCount;
+
+    @Value("${ledger.max-batch-size:64}")
+    private int maxBatchSize;
+
+    private LedgerShard[] shards;
+
+    @PostConstruct
+    public void start() {
+        int count = shardCount > 0 ? shardCount : Runtime.getRuntime().availableProcessors();
+        Function<List<LedgerCommand>, List<LedgerResult>> writer = journal.isEnabled()
+                ? journaledLedger::apply
+                : ledgerWriter::apply;
+        shards = new LedgerShard[count];
+        for (int i = 0; i < count; i++) {
+            shards[i] = new LedgerShard(i, writer, maxBatchSize);
+            shards[i].start();
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        for (LedgerShard shard : shards) {
+            shard.stop();
+        }
+    }
+
+    public CompletableFuture<Transaction> submit(LedgerCommand command) {
+        return shards[shardIndex(command.getCustomerId())].submit(command);
+    }
+
+    public Transaction execute(LedgerCommand command) {
+        try {
+            return submit(command).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    public boolean isJournaled() {
+        return journal.isEnabled();
+    }
+
+    // In journal mode the database lags acknowledged writes; this is the latest durable balance, if known
+    public BigDecimal getJournaledBalance(Long customerId) {
+        return journal.isEnabled() ? journaledLedger.balance(customerId) : null;
+    }
+
+    // In journal mode, the record a not yet projected idempotency key produced; null otherwise
+    public JournalRecord getUnprojectedRecord(String idempotencyKey) {
+        return journal.isEnabled() ? journaledLedger.unprojected(idempotencyKey) : null;
+    }
+
+    // Must be called after the change commits
+    public void customerUpdated(Customer customer) {
+        if (journal.isEnabled()) {
+            journaledLedger.customerUpdated(customer);
+        }
+    }
+
+    int shardIndex(Long customerId) {
+        // Spread sequential ids across shards (Fibonacci hashing)
+        long hash = customerId * 0x9E3779B97F4A7C15L;
+        return (int) Math.floorMod(hash ^ (hash >>> 32), (long) shards.length);
+    }
+
+    public int getShardCount() {
+        return shards.length;
+    }
+}
@@ -0,0 +1,429 @@
+package com.vaultx.banking.ledger;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only ledger journal in fixed-size, memory-mapped segment files.
+ * Appends from all shards are group-committed: one writer thread copies every
+ * pending batch into the mapped segment, forces it to disk once and then
+ * acknowledges the whole group. Durable records are handed to the
+ * {@link JournalProjector} in offset order.
+ *
+ * Each record is an int payload length, the payload's CRC32C and the payload.
+ * A zero length marks the end of a segment's data. Offsets are global: a
+ * segment file is named after the offset of its first byte.
+ */
+@Component
+public class LedgerJournal implements Runnable {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerJournal.class);
+
+    private static final int HEADER_BYTES = 8;
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    @Value("${ledger.journal.enabled:false}")
+    private boolean enabled;
+
+    @Value("${ledger.journal.directory:data/journal}")
+    private String directory;
+
+    @Value("${ledger.journal.segment-size:64MB}")
+    private DataSize segmentSize;
+
+    @Value("${ledger.journal.group-commit.max-records:512}")
+    private int maxGroupRecords;
+
+    @Value("${ledger.journal.group-commit.max-wait:2ms}")
+    private Duration maxGroupWait;
+
+    private final Queue<PendingAppend> pending = new ConcurrentLinkedQueue<>();
+    private final Queue<JournalEntry> durable = new ConcurrentLinkedQueue<>();
+    private final Deque<long[]> sealedSegments = new ConcurrentLinkedDeque<>();
+
+    private Path journalDirectory;
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private long segmentStart;
+    private Thread writer;
+    private Runnable durableListener = () -> { };
+
+    private volatile boolean running;
+    private volatile boolean sleeping;
+    private volatile IOException failure;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setDurableListener(Runnable durableListener) {
+        this.durableListener = durableListener;
+    }
+
+    /**
+     * Opens the journal for appending and returns every intact record after
+     * {@code projectedOffset}. A null offset means the database has never
+     * projected this journal, so any existing segments are set aside.
+     */
+    public List<JournalEntry> open(Long projectedOffset) throws IOException {
+        journalDirectory = Paths.get(directory);
+        Files.createDirectories(journalDirectory);
+        List<Long> starts = listSegments();
+        if (projectedOffset == null && !starts.isEmpty()) {
+            Path orphaned = Files.createDirectories(journalDirectory.resolve("orphaned-" + System.currentTimeMillis()));
+            log.warn("Database has no journal checkpoint; moving {} existing segments to {}", starts.size(), orphaned);
+            for (Long start : starts) {
+                Files.move(segmentPath(start), orphaned.resolve(segmentPath(start).getFileName()),
+                        StandardCopyOption.ATOMIC_MOVE);
+            }
+            starts.clear();
+        }
+        long fromOffset = projectedOffset != null ? projectedOffset : 0L;
+
+        List<JournalEntry> backlog = new ArrayList<>();
+        long end = fromOffset;
+        for (int i = 0; i < starts.size(); i++) {
+            long start = starts.get(i);
+            boolean last = i == starts.size() - 1;
+            int validBytes = scan(start, last, fromOffset, backlog);
+            if (last && start + validBytes >= fromOffset) {
+                end = start + validBytes;
+                reopen(start, validBytes);
+            } else {
+                sealedSegments.add(new long[]{start, start + validBytes});
+            }
+        }
+        if (channel == null) {
+            createSegment(end);
+        }
+        if (projectedOffset != null && end > fromOffset) {
+            log.info("Journal holds {} unprojected records from offset {}", backlog.size(), fromOffset);
+        }
+
+        running = true;
+        writer = new Thread(this, "ledger-journal");
+        writer.setDaemon(true);
+        writer.start();
+        return backlog;
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException, IOException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join();
+        segment.force();
+        channel.close();
+    }
+
+    /**
+     * Queues records for the next group commit. The returned future completes
+     * once they are durable, or exceptionally if the journal could not write them.
+     */
+    public CompletableFuture<Void> append(List<JournalRecord> records) {
+        if (!running) {
+            throw new IllegalStateException("Ledger journal is not open");
+        }
+        if (failure != null) {
+            throw new IllegalStateException("Ledger journal stopped after a write failure", failure);
+        }
+        PendingAppend append = new PendingAppend(records);
+        if (append.bytes > segmentSize.toBytes() - 2 * HEADER_BYTES) {
+            throw new IllegalArgumentException("Journal batch does not fit in one segment");
+        }
+        pending.offer(append);
+        if (sleeping) {
+            LockSupport.unpark(writer);
+        }
+        return append.future;
+    }
+
+    // Next durable record not yet handed to the projector, or null
+    public JournalEntry pollDurable() {
+        return durable.poll();
+    }
+
+    // Deletes sealed segments whose every record has been projected
+    public void release(long projectedOffset) {
+        long[] oldest;
+        while ((oldest = sealedSegments.peekFirst()) != null && oldest[1] <= projectedOffset) {
+            sealedSegments.pollFirst();
+            try {
+                Files.deleteIfExists(segmentPath(oldest[0]));
+            } catch (IOException e) {
+                log.warn("Could not delete projected journal segment {}", segmentPath(oldest[0]), e);
+            }
+        }
+    }
+
+    @Override
+    public void run() {
+        List<PendingAppend> group = new ArrayList<>();
+        long maxWaitNanos = maxGroupWait.toNanos();
+        while (running || !pending.isEmpty()) {
+            PendingAppend first = pending.poll();
+            if (first == null) {
+                sleeping = true;
+                if (pending.isEmpty() && running) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                sleeping = false;
+                continue;
+            }
+
+            // Hold the group open until it is full or the first append has waited long enough
+            group.add(first);
+            int records = first.records.size();
+            long deadline = System.nanoTime() + maxWaitNanos;
+            while (records < maxGroupRecords) {
+                PendingAppend next = pending.poll();
+                if (next != null) {
+                    group.add(next);
+                    records += next.records.size();
+                    continue;
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0 || !running) {
+                    break;
+                }
+                sleeping = true;
+                if (pending.isEmpty()) {
+                    LockSupport.parkNanos(this, remaining);
+                }
+                sleeping = false;
+            }
+
+            commit(group);
+            group.clear();
+        }
+    }
+
+    private void commit(List<PendingAppend> group) {
+        if (failure != null) {
+            fail(group, failure);
+            return;
+        }
+        List<JournalEntry> written = new ArrayList<>();
+        // Appends forced into a sealed segment before a failure are durable and replay on restart, so they succeed
+        int durableAppends = 0;
+        int durableEntries = 0;
+        long durableEnd = segmentStart + segment.position();
+        try {
+            int dirtyFrom = segment.position();
+            for (int a = 0; a < group.size(); a++) {
+                PendingAppend append = group.get(a);
+                if (append.bytes > segment.remaining() - HEADER_BYTES) {
+                    segment.force(dirtyFrom, segment.position() - dirtyFrom);
+                    durableAppends = a;
+                    durableEntries = written.size();
+                    durableEnd = segmentStart + segment.position();
+                    roll();
+                    dirtyFrom = 0;
+                }
+                for (int i = 0; i < append.records.size(); i++) {
+                    byte[] payload = append.payloads.get(i);
+                    segment.putInt(payload.length);
+                    segment.putInt(append.checksums[i]);
+                    segment.put(payload);
+                    written.add(new JournalEntry(append.records.get(i), segmentStart + segment.position()));
+                }
+            }
+            segment.force(dirtyFrom, segment.position() - dirtyFrom);
+        } catch (IOException | RuntimeException e) {
+            failure = e instanceof IOException ? (IOException) e : new IOException(e);
+            log.error("Ledger journal write failed; refusing further appends", e);
+            discardFrom(durableEnd);
+            complete(group.subList(0, durableAppends), written.subList(0, durableEntries));
+            fail(group.subList(durableAppends, group.size()), failure);
+            return;
+        }
+
+        complete(group, written);
+    }
+
+    private void complete(List<PendingAppend> appends, List<JournalEntry> entries) {
+        if (appends.isEmpty()) {
+            return;
+        }
+        durable.addAll(entries);
+        for (PendingAppend append : appends) {
+            append.future.complete(null);
+        }
+        durableListener.run();
+    }
+
+    // Best effort: zero whatever a failed group wrote past its durable part, so replay skips it
+    private void discardFrom(long offset) {
+        if (offset < segmentStart) {
+            return;
+        }
+        try {
+            int from = (int) (offset - segmentStart);
+            for (int i = from; i < segment.position(); i++) {
+                segment.put(i, (byte) 0);
+            }
+            segment.position(from);
+            segment.force();
+        } catch (RuntimeException e) {
+            log.error("Could not discard failed journal group at offset {}", offset, e);
+        }
+    }
+
+    private void fail(List<PendingAppend> group, IOException cause) {
+        UncheckedIOException exception = new UncheckedIOException("Ledger journal write failed", cause);
+        for (PendingAppend append : group) {
+            append.future.completeExceptionally(exception);
+        }
+    }
+
+    private int scan(long start, boolean last, long fromOffset, List<JournalEntry> backlog) throws IOException {
+        try (FileChannel file = FileChannel.open(segmentPath(start), StandardOpenOption.READ)) {
+            ByteBuffer buffer = file.map(FileChannel.MapMode.READ_ONLY, 0, file.size());
+            CRC32C crc = new CRC32C();
+            int position = 0;
+            while (position + HEADER_BYTES <= buffer.limit()) {
+                int length = buffer.getInt(position);
+                if (length <= 0) {
+                    break;
+                }
+                boolean intact = position + HEADER_BYTES + length <= buffer.limit();
+                if (intact) {
+                    crc.reset();
+                    crc.update(buffer.slice(position + HEADER_BYTES, length));
+                    intact = (int) crc.getValue() == buffer.getInt(position + 4);
+                }
+                if (!intact) {
+                    if (!last) {
+                        throw new IOException("Corrupt record in sealed journal segment " + segmentPath(start)
+                                + " at position " + position);
+                    }
+                    log.warn("Discarding torn journal tail in {} at position {}", segmentPath(start), position);
+                    break;
+                }
+                if (start + position >= fromOffset) {
+                    backlog.add(new JournalEntry(JournalRecord.decode(buffer.slice(position + HEADER_BYTES, length)),
+                            start + position + HEADER_BYTES + length));
+                }
+                position += HEADER_BYTES + length;
+            }
+            return position;
+        }
+    }
+
+    private void reopen(long start, int validBytes) throws IOException {
+        channel = FileChannel.open(segmentPath(start), StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        segmentStart = start;
+        // Zero any torn tail so later appends are never followed by stale bytes
+        for (int i = validBytes; i < segment.limit(); i++) {
+            segment.put(i, (byte) 0);
+        }
+        segment.force();
+        segment.position(validBytes);
+    }
+
+    private void roll() throws IOException {
+        long end = segmentStart + segment.position();
+        sealedSegments.add(new long[]{segmentStart, end});
+        channel.close();
+        createSegment(end);
+    }
+
+    private void createSegment(long start) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(segmentPath(start).toFile(), "rw")) {
+            file.setLength(segmentSize.toBytes());
+        }
+        channel = FileChannel.open(segmentPath(start), StandardOpenOption.READ, StandardOpenOption.WRITE);
+        channel.force(true);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        segmentStart = start;
+    }
+
+    private List<Long> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(journalDirectory)) {
+            List<Long> starts = new ArrayList<>();
+            files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .forEach(starts::add);
+            return starts;
+        }
+    }
+
+    private Path segmentPath(long start) {
+        return journalDirectory.resolve(String.format("%020d%s", start, SEGMENT_SUFFIX));
+    }
+
+    public static class JournalEntry {
+        private final JournalRecord record;
+        private final long endOffset;
+
+        JournalEntry(JournalRecord record, long endOffset) {
+            this.record = record;
+            this.endOffset = endOffset;
+        }
+
+        public JournalRecord getRecord() { return record; }
+
+        public long getEndOffset() { return endOffset; }
+    }
+
+    private static class PendingAppend {
+        private final List<JournalRecord> records;
+        private final List<byte[]> payloads;
+        private final int[] checksums;
+        private final long bytes;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        // Encodes and checksums on the appending thread, keeping the writer's critical path short
+        private PendingAppend(List<JournalRecord> records) {
+            this.records = records;
+            this.payloads = new ArrayList<>(records.size());
+            this.checksums = new int[records.size()];
+            CRC32C crc = new CRC32C();
+            long total = 0;
+            for (int i = 0; i < records.size(); i++) {
+                byte[] payload = records.get(i).encode();
+                crc.reset();
+                crc.update(payload);
+                payloads.add(payload);
+                checksums[i] = (int) crc.getValue();
+                total += HEADER_BYTES + payload.length;
+            }
+            this.bytes = total;
+        }
+    }
+}
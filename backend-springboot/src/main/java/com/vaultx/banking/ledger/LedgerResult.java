@@ -0,0 +1,29 @@
+package com.vaultx.banking.ledger;
+
+import com.vaultx.banking.entity.Transaction;
+
+public class LedgerResult {
+    private final boolean success;
+    private final Transaction transaction;
+    private final String error;
+
+    private LedgerResult(boolean success, Transaction transaction, String error) {
+        this.success = success;
+        this.transaction = transaction;
+        this.error = error;
+    }
+
+    public static LedgerResult success(Transaction transaction) {
+        return new LedgerResult(true, transaction, null);
+    }
+
+    public static LedgerResult failure(String error) {
+        return new LedgerResult(false, null, error);
+    }
+
+    public boolean isSuccess() { return success; }
+
+    public Transaction getTransaction() { return transaction; }
+
+    public String getError() { return error; }
+}
@@ -0,0 +1,144 @@
+package com.vaultx.banking.ledger;
+
+import com.vaultx.banking.entity.Transaction;
+import com.vaultx.banking.metrics.QueryCountingStatementInspector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * A single-writer shard: any number of request threads enqueue commands on a
+ * lock-free queue and one worker thread drains it, handing each drained batch
+ * to the {@link LedgerWriter} so the batch commits as one database transaction
+ * (or, in journal mode, to the {@link JournaledLedger} as one journal append).
+ */
+class LedgerShard implements Runnable {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerShard.class);
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final Queue<Pending> queue = new ConcurrentLinkedQueue<>();
+    private final Function<List<LedgerCommand>, List<LedgerResult>> writer;
+    private final int maxBatchSize;
+    private final Thread worker;
+
+    private volatile boolean running = true;
+    private volatile boolean sleeping;
+
+    LedgerShard(int index, Function<List<LedgerCommand>, List<LedgerResult>> writer, int maxBatchSize) {
+        this.writer = writer;
+        this.maxBatchSize = maxBatchSize;
+        this.worker = new Thread(this, "ledger-shard-" + index);
+        this.worker.setDaemon(true);
+    }
+
+    void start() {
+        worker.start();
+    }
+
+    void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(worker);
+        worker.join();
+    }
+
+    CompletableFuture<Transaction> submit(LedgerCommand command) {
+        if (!running) {
+            throw new IllegalStateException("Ledger is shutting down");
+        }
+        Pending pending = new Pending(command);
+        queue.offer(pending);
+        if (sleeping) {
+            LockSupport.unpark(worker);
+        }
+        return pending.future;
+    }
+
+    @Override
+    public void run() {
+        List<Pending> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            Pending pending;
+            while (batch.size() < maxBatchSize && (pending = queue.poll()) != null) {
+                batch.add(pending);
+            }
+            if (batch.isEmpty()) {
+                sleeping = true;
+                if (queue.isEmpty() && running) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                sleeping = false;
+                continue;
+            }
+            flush(batch);
+            batch.clear();
+        }
+    }
+
+    private void flush(List<Pending> batch) {
+        List<LedgerCommand> commands = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            commands.add(pending.command);
+        }
+
+        List<LedgerResult> results;
+        QueryCountingStatementInspector.reset();
+        try {
+            results = writer.apply(commands);
+        } catch (RuntimeException e) {
+            creditStatements(batch, QueryCountingStatementInspector.current());
+            if (batch.size() > 1) {
+                // Isolate the failing command instead of failing its whole batch
+                for (Pending pending : batch) {
+                    flush(Collections.singletonList(pending));
+                }
+            } else {
+                log.warn("Ledger write failed for customer {}", batch.get(0).command.getCustomerId(), e);
+                batch.get(0).future.completeExceptionally(e);
+            }
+            return;
+        }
+
+        // Credited before any future completes, so the waiting request reads its full count
+        creditStatements(batch, QueryCountingStatementInspector.current());
+        for (int i = 0; i < batch.size(); i++) {
+            LedgerResult result = results.get(i);
+            if (result.isSuccess()) {
+                batch.get(i).future.complete(result.getTransaction());
+            } else {
+                batch.get(i).future.completeExceptionally(new RuntimeException(result.getError()));
+            }
+        }
+    }
+
+    // Spreads the batch's statements over its commands, so each request carries its share of the transaction
+    private static void creditStatements(List<Pending> batch, int statements) {
+        int share = statements / batch.size();
+        int remainder = statements % batch.size();
+        for (int i = 0; i < batch.size(); i++) {
+            int credit = share + (i < remainder ? 1 : 0);
+            if (credit > 0) {
+                batch.get(i).command.getStatementCounter().addAndGet(credit);
+            }
+        }
+    }
+
+    private static class Pending {
+        private final LedgerCommand command;
+        private final CompletableFuture<Transaction> future = new CompletableFuture<>();
+
+        private Pending(LedgerCommand command) {
+            this.command = command;
+        }
+    }
+}
@@ -0,0 +1,345 @@
+package com.vaultx.banking.ledger;
+
+import com.vaultx.banking.entity.Customer;
+import com.vaultx.banking.entity.CustomerAggregate;
+import com.vaultx.banking.entity.IdempotencyRecord;
+import com.vaultx.banking.entity.JournalCheckpoint;
+import com.vaultx.banking.entity.Transaction;
+import com.vaultx.banking.metrics.BankingMetrics;
+import com.vaultx.banking.repository.CustomerAggregateRepository;
+import com.vaultx.banking.repository.CustomerRepository;
+import com.vaultx.banking.repository.IdempotencyRecordRepository;
+import com.vaultx.banking.repository.JournalCheckpointRepository;
+import com.vaultx.banking.repository.TransactionRepository;
+import com.vaultx.banking.service.BalanceCache;
+import com.vaultx.banking.service.BankStatistics;
+import com.vaultx.banking.util.SnowflakeIdGenerator;
+import com.vaultx.banking.util.TransactionHooks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Applies a batch of ledger commands in a single database transaction.
+ * Every account touched by the batch is row-locked up front in ascending id
+ * order, so concurrent batches can never deadlock on each other, and commands
+ * for the same account are applied in the order they were submitted. A transfer
+ * locks its recipient in the same ordered pass and credits it in the same
+ * transaction as the debit.
+ */
+@Service
+@Transactional
+public class LedgerWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerWriter.class);
+
+    static final String CUSTOMER_NOT_FOUND = "Customer not found";
+    static final String NOT_AUTHORIZED = "Customer is not authorized to perform transactions";
+    static final String INSUFFICIENT_BALANCE = "Insufficient balance";
+    static final String RECIPIENT_REQUIRED = "Recipient account is required for transfers";
+    static final String RECIPIENT_NOT_FOUND = "Recipient account not found";
+    static final String SAME_ACCOUNT = "Cannot transfer to the same account";
+    static final String RECIPIENT_INACTIVE = "Recipient account is not active";
+    static final String PAIRED_CREDIT_SUFFIX = "-CR";
+
+    // Metric tag for each rejection message
+    static final Map<String, String> REJECTION_REASONS = Map.of(
+            CUSTOMER_NOT_FOUND, "customer_not_found",
+            NOT_AUTHORIZED, "not_authorized",
+            INSUFFICIENT_BALANCE, "insufficient_balance",
+            RECIPIENT_REQUIRED, "recipient_required",
+            RECIPIENT_NOT_FOUND, "recipient_not_found",
+            SAME_ACCOUNT, "same_account",
+            RECIPIENT_INACTIVE, "recipient_inactive");
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private CustomerAggregateRepository customerAggregateRepository;
+
+    @Autowired
+    private BalanceCache balanceCache;
+
+    @Autowired
+    private BankStatistics bankStatistics;
+
+    @Autowired
+    private SnowflakeIdGenerator idGenerator;
+
+    @Autowired
+    private BankingMetrics bankingMetrics;
+
+    @Autowired
+    private JournalCheckpointRepository journalCheckpointRepository;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    public List<LedgerResult> apply(List<LedgerCommand> commands) {
+        if (commands.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        // Transfer recipients are locked together with the senders, all in ascending id order
+        Set<Long> customerIds = new TreeSet<>();
+        Map<String, Long> recipientIds = new HashMap<>();
+        for (LedgerCommand command : commands) {
+            customerIds.add(command.getCustomerId());
+            String recipientAccount = command.getRecipientAccount();
+            if (command.getType() == Transaction.TransactionType.TRANSFER && recipientAccount != null
+                    && !recipientIds.containsKey(recipientAccount)) {
+                Long recipientId = customerRepository.findIdByAccountNumber(recipientAccount).orElse(null);
+                recipientIds.put(recipientAccount, recipientId);
+                if (recipientId != null) {
+                    customerIds.add(recipientId);
+                }
+            }
+        }
+
+        Map<Long, Customer> customers = new HashMap<>();
+        Map<Long, BigDecimal> openingBalances = new HashMap<>();
+        for (Customer customer : customerRepository.findAllByIdForUpdate(customerIds)) {
+            customers.put(customer.getId(), customer);
+            openingBalances.put(customer.getId(), customer.getCurrentBalance());
+        }
+
+        List<LedgerResult> results = new ArrayList<>(commands.size());
+        List<Transaction> transactions = new ArrayList<>(commands.size());
+        List<Transaction> completed = new ArrayList<>(commands.size());
+        Map<Long, Customer> changed = new HashMap<>();
+        List<String> rejections = new ArrayList<>();
+        List<IdempotencyRecord> idempotencyRecords = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (LedgerCommand command : commands) {
+            Customer customer = customers.get(command.getCustomerId());
+            String rejection = validate(command, customer);
+            Customer recipient = null;
+            if (rejection == null && command.getType() == Transaction.TransactionType.TRANSFER) {
+                Long recipientId = recipientIds.get(command.getRecipientAccount());
+                recipient = recipientId != null ? customers.get(recipientId) : null;
+                rejection = validateRecipient(customer, recipient);
+            }
+            if (rejection != null) {
+                results.add(LedgerResult.failure(rejection));
+                rejections.add(REJECTION_REASONS.get(rejection));
+                continue;
+            }
+
+            BigDecimal amount = command.getAmount();
+            Transaction.TransactionType type = command.getType();
+            BigDecimal newBalance = type == Transaction.TransactionType.CREDIT
+                    ? customer.getCurrentBalance().add(amount)
+                    : customer.getCurrentBalance().subtract(amount);
+            customer.setCurrentBalance(newBalance);
+            changed.put(customer.getId(), customer);
+
+            Transaction transaction = new Transaction();
+            transaction.setCustomer(customer);
+            transaction.setTransactionType(type);
+            transaction.setAmount(amount);
+            transaction.setDescription(command.getDescription());
+            transaction.setRecipientAccount(command.getRecipientAccount());
+            transaction.setBalanceAfter(newBalance);
+            transaction.setStatus(Transaction.TransactionStatus.COMPLETED);
+            transaction.setReferenceNumber("TXN" + idGenerator.nextId());
+            transaction.setCreatedAt(now);
+            transactions.add(transaction);
+            completed.add(transaction);
+            if (command.getIdempotencyKey() != null) {
+                idempotencyRecords.add(new IdempotencyRecord(command.getIdempotencyKey(), customer.getId(),
+                        command.getRequestHash(), transaction.getReferenceNumber(), now));
+            }
+
+            if (recipient != null) {
+                recipient.setCurrentBalance(recipient.getCurrentBalance().add(amount));
+                changed.put(recipient.getId(), recipient);
+                transactions.add(pairedCredit(transaction, customer, recipient));
+            }
+            results.add(LedgerResult.success(transaction));
+        }
+
+        transactionRepository.saveAll(transactions);
+        idempotencyRecordRepository.saveAll(idempotencyRecords);
+        updateAggregates(changed.keySet(), transactions);
+        for (Customer customer : changed.values()) {
+            balanceCache.publishOnCommit(customer);
+            bankStatistics.recordChangeOnCommit(customer.getStatus(), customer.isCanPerformOperations(),
+                    openingBalances.get(customer.getId()), customer.getStatus(), customer.isCanPerformOperations(),
+                    customer.getCurrentBalance());
+        }
+        // Recorded only once the batch commits, so a rolled-back batch retried per command is not counted twice
+        TransactionHooks.afterCommit(() -> {
+            for (Transaction transaction : completed) {
+                bankingMetrics.recordTransaction(transaction.getTransactionType(), transaction.getAmount());
+            }
+            for (String reason : rejections) {
+                bankingMetrics.recordRejection(reason);
+            }
+        });
+        return results;
+    }
+
+    // Null when the sender may perform the command, otherwise the rejection message
+    private static String validate(LedgerCommand command, Customer customer) {
+        if (customer == null) {
+            return CUSTOMER_NOT_FOUND;
+        }
+        if (!customer.isCanPerformOperations()) {
+            return NOT_AUTHORIZED;
+        }
+        if (command.getType() == Transaction.TransactionType.TRANSFER
+                && (command.getRecipientAccount() == null || command.getRecipientAccount().isBlank())) {
+            return RECIPIENT_REQUIRED;
+        }
+        if (command.getType() != Transaction.TransactionType.CREDIT
+                && customer.getCurrentBalance().compareTo(command.getAmount()) < 0) {
+            return INSUFFICIENT_BALANCE;
+        }
+        return null;
+    }
+
+    private static String validateRecipient(Customer sender, Customer recipient) {
+        if (recipient == null) {
+            return RECIPIENT_NOT_FOUND;
+        }
+        if (recipient.getId().equals(sender.getId())) {
+            return SAME_ACCOUNT;
+        }
+        if (!recipient.isCanPerformOperations()) {
+            return RECIPIENT_INACTIVE;
+        }
+        return null;
+    }
+
+    // The recipient's half of a transfer: a credit naming the sender, with a reference derived from the debit's
+    private static Transaction pairedCredit(Transaction debit, Customer sender, Customer recipient) {
+        Transaction credit = new Transaction();
+        credit.setCustomer(recipient);
+        credit.setTransactionType(Transaction.TransactionType.CREDIT);
+        credit.setAmount(debit.getAmount());
+        credit.setDescription(debit.getDescription());
+        credit.setRecipientAccount(sender.getAccountNumber());
+        credit.setBalanceAfter(recipient.getCurrentBalance());
+        credit.setStatus(Transaction.TransactionStatus.COMPLETED);
+        credit.setReferenceNumber(debit.getReferenceNumber() + PAIRED_CREDIT_SUFFIX);
+        credit.setCreatedAt(debit.getCreatedAt());
+        return credit;
+    }
+
+    /**
+     * Writes already-validated journal records into the customers and
+     * transactions tables and advances the projection checkpoint in the same
+     * transaction, so each record is projected exactly once. The balance cache
+     * is left alone: in journal mode it is fed by the shards, ahead of this.
+     */
+    public void project(List<JournalRecord> records, long endOffset) {
+        Set<Long> customerIds = new TreeSet<>();
+        for (JournalRecord record : records) {
+            customerIds.add(record.getCustomerId());
+            if (record.getCounterpartyId() != null) {
+                customerIds.add(record.getCounterpartyId());
+            }
+        }
+
+        Map<Long, Customer> customers = new HashMap<>();
+        Map<Long, BigDecimal> openingBalances = new HashMap<>();
+        for (Customer customer : customerRepository.findAllByIdForUpdate(customerIds)) {
+            customers.put(customer.getId(), customer);
+            openingBalances.put(customer.getId(), customer.getCurrentBalance());
+        }
+
+        List<Transaction> transactions = new ArrayList<>(records.size());
+        List<IdempotencyRecord> idempotencyRecords = new ArrayList<>();
+        for (JournalRecord record : records) {
+            Customer customer = customers.get(record.getCustomerId());
+            if (customer == null) {
+                log.warn("Skipping journal record {} for missing customer {}", record.getReferenceNumber(),
+                        record.getCustomerId());
+                continue;
+            }
+            customer.setCurrentBalance(record.getBalanceAfter());
+            transactions.add(record.toTransaction(customer));
+
+            Customer counterparty = record.getCounterpartyId() != null ? customers.get(record.getCounterpartyId()) : null;
+            if (counterparty != null) {
+                counterparty.setCurrentBalance(record.getCounterpartyBalanceAfter());
+                transactions.add(record.toCounterpartyTransaction(counterparty));
+            }
+            if (record.getIdempotencyKey() != null) {
+                idempotencyRecords.add(new IdempotencyRecord(record.getIdempotencyKey(), customer.getId(),
+                        record.getRequestHash(), record.getReferenceNumber(), record.getCreatedAt()));
+            }
+        }
+
+        transactionRepository.saveAll(transactions);
+        idempotencyRecordRepository.saveAll(withoutStoredKeys(idempotencyRecords));
+        updateAggregates(customers.keySet(), transactions);
+        for (Customer customer : customers.values()) {
+            bankStatistics.recordChangeOnCommit(customer.getStatus(), customer.isCanPerformOperations(),
+                    openingBalances.get(customer.getId()), customer.getStatus(), customer.isCanPerformOperations(),
+                    customer.getCurrentBalance());
+        }
+
+        JournalCheckpoint checkpoint = journalCheckpointRepository.findById(JournalCheckpoint.SINGLETON_ID)
+                .orElseGet(JournalCheckpoint::new);
+        checkpoint.setProjectedOffset(endOffset);
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        journalCheckpointRepository.save(checkpoint);
+    }
+
+    // A key that is already stored was answered by an earlier record; failing here would stall projection for good
+    private List<IdempotencyRecord> withoutStoredKeys(List<IdempotencyRecord> records) {
+        if (records.isEmpty()) {
+            return records;
+        }
+        Set<String> stored = new HashSet<>();
+        List<String> keys = new ArrayList<>(records.size());
+        for (IdempotencyRecord record : records) {
+            keys.add(record.getIdempotencyKey());
+        }
+        for (IdempotencyRecord existing : idempotencyRecordRepository.findAllById(keys)) {
+            stored.add(existing.getIdempotencyKey());
+        }
+        List<IdempotencyRecord> fresh = new ArrayList<>(records.size());
+        for (IdempotencyRecord record : records) {
+            if (!stored.add(record.getIdempotencyKey())) {
+                log.warn("Idempotency key {} is already stored; projecting {} without it",
+                        record.getIdempotencyKey(), record.getReferenceNumber());
+                continue;
+            }
+            fresh.add(record);
+        }
+        return fresh;
+    }
+
+    // Safe without further locking: the customer rows are already held by this transaction
+    private void updateAggregates(Set<Long> customerIds, List<Transaction> transactions) {
+        if (transactions.isEmpty()) {
+            return;
+        }
+        Map<Long, CustomerAggregate> aggregates = new HashMap<>();
+        for (CustomerAggregate aggregate : customerAggregateRepository.findAllById(customerIds)) {
+            aggregates.put(aggregate.getCustomerId(), aggregate);
+        }
+        for (Transaction transaction : transactions) {
+            aggregates.computeIfAbsent(transaction.getCustomer().getId(), CustomerAggregate::new).record(transaction);
+        }
+        customerAggregateRepository.saveAll(aggregates.values());
+    }
+}
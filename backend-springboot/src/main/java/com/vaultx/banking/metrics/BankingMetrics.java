@@ -0,0 +1,36 @@
+package com.vaultx.banking.metrics;
+
+import com.vaultx.banking.entity.Transaction;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+@Component
+public class BankingMetrics {
+
+    private final MeterRegistry registry;
+
+    public BankingMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public void recordTransaction(Transaction.TransactionType type, BigDecimal amount) {
+        DistributionSummary.builder("vaultx.transactions.amount")
+                .description("Amounts of completed transactions")
+                .baseUnit("inr")
+                .tag("type", type.name())
+                .register(registry)
+                .record(amount.doubleValue());
+    }
+
+    public void recordRejection(String reason) {
+        Counter.builder("vaultx.transactions.rejected")
+                .description("Transactions rejected by the ledger before any write")
+                .tag("reason", reason)
+                .register(registry)
+                .increment();
+    }
+}
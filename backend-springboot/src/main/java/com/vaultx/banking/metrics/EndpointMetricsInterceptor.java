@@ -0,0 +1,94 @@
+package com.vaultx.banking.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Times each controller endpoint, tagged by handler method and outcome, and
+ * records how many SQL statements the request issued. Controllers turn
+ * failures into 4xx/5xx responses, so the outcome comes from the status code.
+ *
+ * The statement count follows the request off its thread: streamed bodies
+ * count on the async executor through the callable hooks below, and ledger
+ * commands carry the counter to the shard writer. An async request is
+ * recorded once, when its async dispatch completes, and timed from the
+ * original dispatch.
+ */
+@Component
+public class EndpointMetricsInterceptor implements AsyncHandlerInterceptor, CallableProcessingInterceptor {
+
+    private static final String START_ATTRIBUTE = EndpointMetricsInterceptor.class.getName() + ".start";
+    private static final String COUNTER_ATTRIBUTE = EndpointMetricsInterceptor.class.getName() + ".queries";
+
+    private final MeterRegistry registry;
+
+    public EndpointMetricsInterceptor(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Object counter = request.getAttribute(COUNTER_ATTRIBUTE);
+        if (request.getDispatcherType() == DispatcherType.ASYNC && counter instanceof AtomicInteger) {
+            QueryCountingStatementInspector.bind((AtomicInteger) counter);
+            return true;
+        }
+        request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        request.setAttribute(COUNTER_ATTRIBUTE, QueryCountingStatementInspector.reset());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        Object counter = request.getAttribute(COUNTER_ATTRIBUTE);
+        if (!(start instanceof Long) || !(counter instanceof AtomicInteger) || !(handler instanceof HandlerMethod)) {
+            return;
+        }
+        String endpoint = ((HandlerMethod) handler).getBeanType().getSimpleName() + "."
+                + ((HandlerMethod) handler).getMethod().getName();
+        String outcome = ex == null && response.getStatus() < 400 ? "success" : "failure";
+
+        Timer.builder("vaultx.endpoint.requests")
+                .description("Controller endpoint latency by outcome")
+                .tag("endpoint", endpoint)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(System.nanoTime() - (Long) start, TimeUnit.NANOSECONDS);
+
+        DistributionSummary.builder("vaultx.endpoint.queries")
+                .description("SQL statements issued for the request, including its ledger writes and streamed body")
+                .tag("endpoint", endpoint)
+                .register(registry)
+                .record(((AtomicInteger) counter).get());
+    }
+
+    // Runs on the async executor before a streamed body or other callable starts writing
+    @Override
+    public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+        Object counter = request.getAttribute(COUNTER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (counter instanceof AtomicInteger) {
+            QueryCountingStatementInspector.bind((AtomicInteger) counter);
+        }
+    }
+
+    @Override
+    public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object concurrentResult) {
+        QueryCountingStatementInspector.unbind();
+    }
+}
@@ -0,0 +1,46 @@
+package com.vaultx.banking.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts SQL statements into the counter bound to the current thread;
+ * registered through hibernate.session_factory.statement_inspector. A request
+ * binds one counter, and work done for it on other threads (streamed bodies,
+ * ledger batches) is credited to that same counter.
+ */
+public class QueryCountingStatementInspector implements StatementInspector {
+
+    private static final ThreadLocal<AtomicInteger> COUNT = ThreadLocal.withInitial(AtomicInteger::new);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get().incrementAndGet();
+        return sql;
+    }
+
+    // Starts a fresh count on this thread and returns it
+    public static AtomicInteger reset() {
+        AtomicInteger counter = new AtomicInteger();
+        COUNT.set(counter);
+        return counter;
+    }
+
+    // Counts this thread's statements into a counter started elsewhere
+    public static void bind(AtomicInteger counter) {
+        COUNT.set(counter);
+    }
+
+    public static void unbind() {
+        COUNT.remove();
+    }
+
+    public static AtomicInteger counter() {
+        return COUNT.get();
+    }
+
+    public static int current() {
+        return COUNT.get().get();
+    }
+}
@@ -0,0 +1,67 @@
+package com.vaultx.banking.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vaultx.banking.dto.ApiResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies the {@link RateLimiter} in front of the customer endpoints. The
+ * customer bucket is chosen by the {@code customerId} path variable; requests
+ * without one only count against the global bucket. Refused requests get 429
+ * with Retry-After in whole seconds.
+ */
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    @Autowired
+    private RateLimiter rateLimiter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        RateLimiter.Rejection rejection = rateLimiter.acquire(customerId(request));
+        if (rejection == null) {
+            return true;
+        }
+
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(rejection.getRetryAfterNanos() + 999_999_999L));
+        String message = rejection.getScope() == RateLimiter.Scope.CUSTOMER
+                ? "Too many requests for this customer, retry later"
+                : "Too many requests, retry later";
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ApiResponse<>(false, message, null));
+        return false;
+    }
+
+    private static Long customerId(HttpServletRequest request) {
+        Object variables = request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (!(variables instanceof Map<?, ?>)) {
+            return null;
+        }
+        Object customerId = ((Map<?, ?>) variables).get("customerId");
+        if (customerId == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(customerId.toString());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.vaultx.banking.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vaultx.banking.util.TokenBucket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * A global token bucket plus one per customer id. Customer buckets live in a
+ * bounded Caffeine map and are dropped once idle; a dropped bucket was full
+ * anyway, so recreating it later loses nothing.
+ */
+@Component
+public class RateLimiter {
+
+    public enum Scope { CUSTOMER, GLOBAL }
+
+    public static class Rejection {
+        private final Scope scope;
+        private final long retryAfterNanos;
+
+        Rejection(Scope scope, long retryAfterNanos) {
+            this.scope = scope;
+            this.retryAfterNanos = retryAfterNanos;
+        }
+
+        public Scope getScope() { return scope; }
+
+        public long getRetryAfterNanos() { return retryAfterNanos; }
+    }
+
+    private final boolean enabled;
+    private final TokenBucket global;
+    private final double customerPermitsPerSecond;
+    private final int customerBurst;
+    private final Cache<Long, TokenBucket> customers;
+    private final Counter customerRejections;
+    private final Counter globalRejections;
+
+    public RateLimiter(@Value("${rate-limit.enabled:true}") boolean enabled,
+                       @Value("${rate-limit.global.permits-per-second:2000}") double globalPermitsPerSecond,
+                       @Value("${rate-limit.global.burst:4000}") int globalBurst,
+                       @Value("${rate-limit.customer.permits-per-second:20}") double customerPermitsPerSecond,
+                       @Value("${rate-limit.customer.burst:40}") int customerBurst,
+                       @Value("${rate-limit.customer.maximum-size:100000}") long maximumCustomers,
+                       @Value("${rate-limit.customer.idle-timeout:10m}") Duration idleTimeout,
+                       MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.global = new TokenBucket(globalPermitsPerSecond, globalBurst, System.nanoTime());
+        this.customerPermitsPerSecond = customerPermitsPerSecond;
+        this.customerBurst = customerBurst;
+        this.customers = Caffeine.newBuilder()
+                .maximumSize(maximumCustomers)
+                .expireAfterAccess(idleTimeout)
+                .build();
+        this.customerRejections = rejectionCounter(meterRegistry, Scope.CUSTOMER);
+        this.globalRejections = rejectionCounter(meterRegistry, Scope.GLOBAL);
+    }
+
+    // Null when the request may proceed; customerId may be null for requests not tied to one customer
+    public Rejection acquire(Long customerId) {
+        if (!enabled) {
+            return null;
+        }
+        long now = System.nanoTime();
+        // The customer bucket goes first, so a throttled customer does not also drain the global one
+        if (customerId != null) {
+            long wait = customers.get(customerId, id -> new TokenBucket(customerPermitsPerSecond, customerBurst, now))
+                    .tryAcquire(now);
+            if (wait > 0) {
+                customerRejections.increment();
+                return new Rejection(Scope.CUSTOMER, wait);
+            }
+        }
+        long wait = global.tryAcquire(now);
+        if (wait > 0) {
+            globalRejections.increment();
+            return new Rejection(Scope.GLOBAL, wait);
+        }
+        return null;
+    }
+
+    private static Counter rejectionCounter(MeterRegistry meterRegistry, Scope scope) {
+        return Counter.builder("vaultx.ratelimit.rejected")
+                .description("Requests refused with 429 by the rate limiter")
+                .tag("scope", scope.name().toLowerCase())
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,12 @@
+package com.vaultx.banking.repository;
+
+import com.vaultx.banking.entity.Customer;
+import java.math.BigDecimal;
+
+public interface BalanceView {
+    BigDecimal getCurrentBalance();
+
+    String getAccountNumber();
+
+    Customer.AccountType getAccountType();
+}
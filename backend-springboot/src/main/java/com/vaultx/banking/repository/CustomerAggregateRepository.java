@@ -0,0 +1,9 @@
+package com.vaultx.banking.repository;
+
+import com.vaultx.banking.entity.CustomerAggregate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CustomerAggregateRepository extends JpaRepository<CustomerAggregate, Long> {
+}
@@ -1,14 +1,27 @@
 package com.vaultx.banking.repository;
 
 import com.vaultx.banking.entity.Customer;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Optional;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface CustomerRepository extends JpaRepository<Customer, Long> {
+public interface CustomerRepository extends JpaRepository<Customer, Long>, CustomerSummaryRepository {
     
     Optional<Customer> findByEmail(String email);
     
@@ -16,8 +29,89 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
     
     Optional<Customer> findByAccountNumber(String accountNumber);
     
+    // Id only, so resolving a transfer recipient never puts an unlocked copy of the row in the persistence context
+    @Query("SELECT c.id FROM Customer c WHERE c.accountNumber = :accountNumber")
+    Optional<Long> findIdByAccountNumber(@Param("accountNumber") String accountNumber);
+    
+    @Query("SELECT c.currentBalance AS currentBalance, c.accountNumber AS accountNumber, c.accountType AS accountType " +
+           "FROM Customer c WHERE c.id = :id")
+    Optional<BalanceView> findBalanceById(@Param("id") Long id);
+    
     List<Customer> findByStatus(Customer.CustomerStatus status);
     
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Customer c WHERE c.id = :id")
+    Optional<Customer> findByIdForUpdate(@Param("id") Long id);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Customer c WHERE c.id IN :ids ORDER BY c.id")
+    List<Customer> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+    
+    // Set-based status change for rows the caller has already locked; bypasses the persistence context
+    @Modifying
+    @Query("UPDATE Customer c SET c.status = :status, c.kycCompleted = :kycCompleted, " +
+           "c.canPerformOperations = :canPerformOperations, c.claimedBy = NULL, c.claimExpiresAt = NULL, " +
+           "c.updatedAt = :updatedAt WHERE c.id IN :ids")
+    int updateStatuses(@Param("ids") Collection<Long> ids,
+                       @Param("status") Customer.CustomerStatus status,
+                       @Param("kycCompleted") boolean kycCompleted,
+                       @Param("canPerformOperations") boolean canPerformOperations,
+                       @Param("updatedAt") LocalDateTime updatedAt);
+    
+    // Head of the KYC queue. A lock timeout of -2 asks for SKIP LOCKED, so concurrent claims pass over each
+    // other's rows; where the database lacks it this is a plain FOR UPDATE and claimCustomers is the guard
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_LOCK_TIMEOUT, value = "-2"))
+    @Query("SELECT c FROM Customer c WHERE c.status = :status ORDER BY c.submittedDate, c.id")
+    List<Customer> findClaimable(@Param("status") Customer.CustomerStatus status, Pageable pageable);
+    
+    // Only rows still unclaimed change, so a row read stale by a concurrent claim is never taken twice
+    @Modifying
+    @Query("UPDATE Customer c SET c.status = :claimed, c.claimedBy = :clerk, c.claimExpiresAt = :expiresAt, " +
+           "c.updatedAt = :now WHERE c.id IN :ids AND c.status = :pending")
+    int claimCustomers(@Param("ids") Collection<Long> ids,
+                       @Param("pending") Customer.CustomerStatus pending,
+                       @Param("claimed") Customer.CustomerStatus claimed,
+                       @Param("clerk") String clerk,
+                       @Param("expiresAt") LocalDateTime expiresAt,
+                       @Param("now") LocalDateTime now);
+    
+    List<Customer> findByIdInAndStatusAndClaimedBy(Collection<Long> ids, Customer.CustomerStatus status, String clerk);
+    
+    @Modifying
+    @Query("UPDATE Customer c SET c.claimExpiresAt = :expiresAt WHERE c.claimedBy = :clerk AND c.status = :claimed")
+    int renewClaims(@Param("clerk") String clerk,
+                    @Param("claimed") Customer.CustomerStatus claimed,
+                    @Param("expiresAt") LocalDateTime expiresAt);
+    
+    @Query("SELECT c.id FROM Customer c WHERE c.status = :claimed AND c.claimExpiresAt < :now ORDER BY c.claimExpiresAt")
+    List<Long> findExpiredClaimIds(@Param("claimed") Customer.CustomerStatus claimed,
+                                   @Param("now") LocalDateTime now,
+                                   Pageable pageable);
+    
+    // Re-checks the expiry, so a lease renewed since the sweep read it is kept
+    @Modifying
+    @Query("UPDATE Customer c SET c.status = :pending, c.claimedBy = NULL, c.claimExpiresAt = NULL, c.updatedAt = :now " +
+           "WHERE c.id IN :ids AND c.status = :claimed AND c.claimExpiresAt < :now")
+    int releaseExpiredClaims(@Param("ids") Collection<Long> ids,
+                             @Param("claimed") Customer.CustomerStatus claimed,
+                             @Param("pending") Customer.CustomerStatus pending,
+                             @Param("now") LocalDateTime now);
+    
+    List<Customer> findByIdInAndStatusAndClaimedByIsNull(Collection<Long> ids, Customer.CustomerStatus status);
+    
+    @Query("SELECT MIN(c.id), MAX(c.id) FROM Customer c WHERE c.accountType = :accountType AND c.status = :status")
+    List<Object[]> findIdRange(@Param("accountType") Customer.AccountType accountType,
+                               @Param("status") Customer.CustomerStatus status);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Customer c WHERE c.id BETWEEN :fromId AND :toId " +
+           "AND c.accountType = :accountType AND c.status = :status ORDER BY c.id")
+    List<Customer> findInIdRangeForUpdate(@Param("fromId") Long fromId,
+                                          @Param("toId") Long toId,
+                                          @Param("accountType") Customer.AccountType accountType,
+                                          @Param("status") Customer.CustomerStatus status);
+    
     @Query("SELECT COUNT(c) FROM Customer c WHERE c.status = 'APPROVED'")
     long countApprovedCustomers();
     
@@ -25,7 +119,28 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
     long countActiveCustomers();
     
     @Query("SELECT SUM(c.currentBalance) FROM Customer c WHERE c.status = 'APPROVED'")
-    Double getTotalBalance();
+    BigDecimal getTotalBalance();
+    
+    @Query("SELECT c.id FROM Customer c WHERE c.id > :afterId ORDER BY c.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    // One statement, so each balance is consistent with its aggregate row
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c.id, c.currentBalance, a.totalCredits, a.totalDebits, a.totalTransfers, " +
+           "a.transactionCount, a.lastTransactionAt, a.lastTransactionId " +
+           "FROM Customer c LEFT JOIN CustomerAggregate a ON a.customerId = c.id ORDER BY c.id")
+    Stream<Object[]> streamSnapshotRows();
+    
+    // Only the searchable columns, streamed once at startup to build the search index
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c.id, c.firstName, c.lastName, c.email, c.phone, c.accountNumber, c.status FROM Customer c")
+    Stream<Object[]> streamSearchRows();
     
     boolean existsByEmail(String email);
     
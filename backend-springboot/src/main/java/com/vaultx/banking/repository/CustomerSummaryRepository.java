@@ -0,0 +1,14 @@
+package com.vaultx.banking.repository;
+
+import com.vaultx.banking.dto.CustomerSummaryDto;
+import com.vaultx.banking.entity.Customer;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import java.time.LocalDate;
+
+public interface CustomerSummaryRepository {
+
+    // Null filters are left out of the query; rows come back in (submittedDate, id) order
+    Page<CustomerSummaryDto> findSummaries(Customer.CustomerStatus status, Customer.AccountType accountType,
+                                           LocalDate submittedFrom, LocalDate submittedTo, Pageable pageable);
+}
@@ -0,0 +1,78 @@
+package com.vaultx.banking.repository;
+
+import com.vaultx.banking.dto.CustomerSummaryDto;
+import com.vaultx.banking.entity.Customer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The employee listing, built from only the filters a request sets. A fixed
+ * query with "(:status IS NULL OR ...)" predicates gets one generic plan that
+ * can use none of the filter indexes. Each combination here gets its own
+ * statement instead. Rows are ordered by (submitted_date, id), which every
+ * listing index on Customer ends with. An equality on status or account type,
+ * a submitted-date range and the ordering can then all be read from the same
+ * index, and a page stops after offset + size index entries.
+ */
+public class CustomerSummaryRepositoryImpl implements CustomerSummaryRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<CustomerSummaryDto> findSummaries(Customer.CustomerStatus status, Customer.AccountType accountType,
+                                                  LocalDate submittedFrom, LocalDate submittedTo, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<CustomerSummaryDto> query = cb.createQuery(CustomerSummaryDto.class);
+        Root<Customer> c = query.from(Customer.class);
+        query.select(cb.construct(CustomerSummaryDto.class, c.get("id"), c.get("firstName"), c.get("lastName"),
+                        c.get("email"), c.get("phone"), c.get("accountNumber"), c.get("accountType"),
+                        c.get("currentBalance"), c.get("status"), c.get("kycCompleted"), c.get("canPerformOperations"),
+                        c.get("submittedDate"), c.get("approvalDate")))
+                .where(filters(cb, c, status, accountType, submittedFrom, submittedTo))
+                .orderBy(cb.asc(c.get("submittedDate")), cb.asc(c.get("id")));
+        List<CustomerSummaryDto> content = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        // The count only runs when the page alone cannot tell the total
+        return PageableExecutionUtils.getPage(content, pageable, () -> {
+            CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
+            Root<Customer> counted = countQuery.from(Customer.class);
+            countQuery.select(cb.count(counted))
+                    .where(filters(cb, counted, status, accountType, submittedFrom, submittedTo));
+            return entityManager.createQuery(countQuery).getSingleResult();
+        });
+    }
+
+    private static Predicate[] filters(CriteriaBuilder cb, Root<Customer> c,
+                                       Customer.CustomerStatus status, Customer.AccountType accountType,
+                                       LocalDate submittedFrom, LocalDate submittedTo) {
+        List<Predicate> predicates = new ArrayList<>(4);
+        if (status != null) {
+            predicates.add(cb.equal(c.get("status"), status));
+        }
+        if (accountType != null) {
+            predicates.add(cb.equal(c.get("accountType"), accountType));
+        }
+        if (submittedFrom != null) {
+            predicates.add(cb.greaterThanOrEqualTo(c.get("submittedDate"), submittedFrom));
+        }
+        if (submittedTo != null) {
+            predicates.add(cb.lessThanOrEqualTo(c.get("submittedDate"), submittedTo));
+        }
+        return predicates.toArray(new Predicate[0]);
+    }
+}
@@ -0,0 +1,23 @@
+package com.vaultx.banking.repository;
+
+import com.vaultx.banking.entity.InterestAccrualChunk;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface InterestAccrualChunkRepository extends JpaRepository<InterestAccrualChunk, String> {
+
+    @Query("SELECT c.chunkIndex FROM InterestAccrualChunk c WHERE c.accrualDate = :accrualDate")
+    List<Integer> findChunkIndexes(@Param("accrualDate") LocalDate accrualDate);
+
+    @Query("SELECT COALESCE(SUM(c.accountsCredited), 0) FROM InterestAccrualChunk c WHERE c.accrualDate = :accrualDate")
+    long sumAccountsCredited(@Param("accrualDate") LocalDate accrualDate);
+
+    @Query("SELECT COALESCE(SUM(c.interestCredited), 0) FROM InterestAccrualChunk c WHERE c.accrualDate = :accrualDate")
+    BigDecimal sumInterestCredited(@Param("accrualDate") LocalDate accrualDate);
+}
@@ -0,0 +1,10 @@
+package com.vaultx.banking.repository;
+
+import com.vaultx.banking.entity.InterestAccrualRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+
+@Repository
+public interface InterestAccrualRunRepository extends JpaRepository<InterestAccrualRun, LocalDate> {
+}
@@ -0,0 +1,9 @@
+package com.vaultx.banking.repository;
+
+import com.vaultx.banking.entity.JournalCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface JournalCheckpointRepository extends JpaRepository<JournalCheckpoint, Integer> {
+}
@@ -1,19 +1,59 @@
 package com.vaultx.banking.repository;
 
 import com.vaultx.banking.entity.Transaction;
-import com.vaultx.banking.entity.Customer;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
     
-    List<Transaction> findByCustomerOrderByCreatedAtDesc(Customer customer);
+    @Query("SELECT t FROM Transaction t WHERE t.customer.id = :customerId ORDER BY t.createdAt DESC, t.id DESC")
+    List<Transaction> findLatestForCustomer(@Param("customerId") Long customerId, Pageable pageable);
+    
+    @Query("SELECT t FROM Transaction t WHERE t.customer.id = :customerId " +
+           "AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.id < :id)) " +
+           "ORDER BY t.createdAt DESC, t.id DESC")
+    List<Transaction> findForCustomerBefore(@Param("customerId") Long customerId,
+                                            @Param("createdAt") LocalDateTime createdAt,
+                                            @Param("id") Long id,
+                                            Pageable pageable);
     
     List<Transaction> findByCustomerIdOrderByCreatedAtDesc(Long customerId);
+
+    Optional<Transaction> findByReferenceNumber(String referenceNumber);
+    
+    // Forward-only, read-only cursor for exports; callers must consume it inside a transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT t FROM Transaction t WHERE t.customer.id = :customerId ORDER BY t.createdAt, t.id")
+    Stream<Transaction> streamByCustomerId(@Param("customerId") Long customerId);
+
+    @Query("SELECT MAX(t.id) FROM Transaction t")
+    Long findMaxId();
+
+    // Rows after a snapshot watermark: id, customer id, type, amount, balance after, created at
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t.id, t.customer.id, t.transactionType, t.amount, t.balanceAfter, t.createdAt " +
+           "FROM Transaction t WHERE t.id > :watermark ORDER BY t.id")
+    Stream<Object[]> streamAfter(@Param("watermark") Long watermark);
     
     @Query("SELECT SUM(t.amount) FROM Transaction t WHERE t.customer.id = ?1 AND t.transactionType = 'CREDIT'")
     BigDecimal getTotalCreditsForCustomer(Long customerId);
@@ -23,4 +63,13 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
     
     @Query("SELECT COUNT(t) FROM Transaction t WHERE t.customer.id = ?1")
     long getTransactionCountForCustomer(Long customerId);
+    
+    // Rows of [customerId, credits, debits, transfers, count, lastCreatedAt] for rebuilding aggregates
+    @Query("SELECT t.customer.id, " +
+           "SUM(CASE WHEN t.transactionType = 'CREDIT' THEN t.amount ELSE 0 END), " +
+           "SUM(CASE WHEN t.transactionType = 'DEBIT' THEN t.amount ELSE 0 END), " +
+           "SUM(CASE WHEN t.transactionType = 'TRANSFER' THEN t.amount ELSE 0 END), " +
+           "COUNT(t), MAX(t.createdAt), MAX(t.id) " +
+           "FROM Transaction t WHERE t.customer.id IN :customerIds GROUP BY t.customer.id")
+    List<Object[]> summarizeByCustomer(@Param("customerIds") Collection<Long> customerIds);
 }
@@ -0,0 +1,140 @@
+package com.vaultx.banking.service;
+
+import com.vaultx.banking.entity.Customer;
+import com.vaultx.banking.entity.CustomerAggregate;
+import com.vaultx.banking.repository.CustomerAggregateRepository;
+import com.vaultx.banking.repository.CustomerRepository;
+import com.vaultx.banking.repository.TransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Recomputes every customer's aggregates from the transactions table and
+ * repairs any row that disagrees. Customers are processed in id-ordered
+ * chunks with their rows locked, so the ledger cannot move underneath a chunk.
+ */
+@Service
+public class AggregateRebuildService {
+
+    private static final Logger log = LoggerFactory.getLogger(AggregateRebuildService.class);
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private CustomerAggregateRepository customerAggregateRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${aggregates.rebuild-chunk-size:500}")
+    private int chunkSize;
+
+    @Scheduled(cron = "${aggregates.rebuild-cron:-}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    public Map<String, Object> rebuild() {
+        long started = System.nanoTime();
+        long customers = 0;
+        long repaired = 0;
+        Long lastId = 0L;
+
+        while (true) {
+            List<Long> ids = customerRepository.findIdsAfter(lastId, PageRequest.of(0, chunkSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            Integer fixed = transactionTemplate.execute(status -> rebuildChunk(ids));
+            customers += ids.size();
+            repaired += fixed != null ? fixed : 0;
+            lastId = ids.get(ids.size() - 1);
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("customersChecked", customers);
+        report.put("aggregatesRepaired", repaired);
+        report.put("durationMillis", (System.nanoTime() - started) / 1_000_000);
+        log.info("Aggregate rebuild finished: {}", report);
+        return report;
+    }
+
+    private int rebuildChunk(List<Long> ids) {
+        List<Long> lockedIds = customerRepository.findAllByIdForUpdate(ids).stream()
+                .map(Customer::getId)
+                .collect(Collectors.toList());
+
+        Map<Long, CustomerAggregate> expected = new HashMap<>();
+        for (Object[] row : transactionRepository.summarizeByCustomer(lockedIds)) {
+            CustomerAggregate aggregate = new CustomerAggregate((Long) row[0]);
+            aggregate.setTotalCredits((BigDecimal) row[1]);
+            aggregate.setTotalDebits((BigDecimal) row[2]);
+            aggregate.setTotalTransfers((BigDecimal) row[3]);
+            aggregate.setTransactionCount((Long) row[4]);
+            aggregate.setLastTransactionAt((LocalDateTime) row[5]);
+            aggregate.setLastTransactionId((Long) row[6]);
+            expected.put(aggregate.getCustomerId(), aggregate);
+        }
+
+        Map<Long, CustomerAggregate> stored = new HashMap<>();
+        for (CustomerAggregate aggregate : customerAggregateRepository.findAllById(lockedIds)) {
+            stored.put(aggregate.getCustomerId(), aggregate);
+        }
+
+        int repaired = 0;
+        for (Long id : lockedIds) {
+            CustomerAggregate want = expected.getOrDefault(id, new CustomerAggregate(id));
+            CustomerAggregate have = stored.get(id);
+            if (have == null) {
+                if (want.getTransactionCount() > 0) {
+                    log.warn("Aggregate missing for customer {}, recreating", id);
+                    customerAggregateRepository.save(want);
+                    repaired++;
+                }
+                continue;
+            }
+            if (!matches(have, want)) {
+                log.warn("Aggregate drift for customer {}: stored count={} credits={} debits={} transfers={}, " +
+                                "expected count={} credits={} debits={} transfers={}",
+                        id, have.getTransactionCount(), have.getTotalCredits(), have.getTotalDebits(), have.getTotalTransfers(),
+                        want.getTransactionCount(), want.getTotalCredits(), want.getTotalDebits(), want.getTotalTransfers());
+                have.setTotalCredits(want.getTotalCredits());
+                have.setTotalDebits(want.getTotalDebits());
+                have.setTotalTransfers(want.getTotalTransfers());
+                have.setTransactionCount(want.getTransactionCount());
+                have.setLastTransactionAt(want.getLastTransactionAt());
+                have.setLastTransactionId(want.getLastTransactionId());
+                repaired++;
+            }
+        }
+        return repaired;
+    }
+
+    private boolean matches(CustomerAggregate have, CustomerAggregate want) {
+        return have.getTransactionCount() == want.getTransactionCount()
+                && have.getTotalCredits().compareTo(want.getTotalCredits()) == 0
+                && have.getTotalDebits().compareTo(want.getTotalDebits()) == 0
+                && have.getTotalTransfers().compareTo(want.getTotalTransfers()) == 0
+                && Objects.equals(have.getLastTransactionAt(), want.getLastTransactionAt())
+                && Objects.equals(have.getLastTransactionId(), want.getLastTransactionId());
+    }
+}
@@ -0,0 +1,83 @@
+package com.vaultx.banking.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vaultx.banking.entity.Customer;
+import com.vaultx.banking.util.TransactionHooks;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded, TTL-evicting cache of account balances. Writers publish new
+ * balances only after their transaction commits; each published entry
+ * carries a version taken while the customer row was locked, so a late
+ * callback can never overwrite a newer balance.
+ */
+@Component
+public class BalanceCache {
+
+    public static class Entry {
+        private final BigDecimal currentBalance;
+        private final String accountNumber;
+        private final String accountType;
+        private final long version;
+
+        Entry(BigDecimal currentBalance, String accountNumber, String accountType, long version) {
+            this.currentBalance = currentBalance;
+            this.accountNumber = accountNumber;
+            this.accountType = accountType;
+            this.version = version;
+        }
+
+        public BigDecimal getCurrentBalance() { return currentBalance; }
+
+        public String getAccountNumber() { return accountNumber; }
+
+        public String getAccountType() { return accountType; }
+    }
+
+    private static final long LOADED_VERSION = -1;
+
+    private final Cache<Long, Entry> cache;
+    private final AtomicLong versions = new AtomicLong();
+
+    public BalanceCache(@Value("${balance-cache.maximum-size:100000}") long maximumSize,
+                        @Value("${balance-cache.ttl:5m}") Duration ttl,
+                        MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "balances");
+    }
+
+    public Entry get(Long customerId) {
+        return cache.getIfPresent(customerId);
+    }
+
+    // Read-through fill from the database; never replaces an entry published by a commit
+    public void putLoaded(Long customerId, BigDecimal currentBalance, String accountNumber, String accountType) {
+        cache.asMap().putIfAbsent(customerId, new Entry(currentBalance, accountNumber, accountType, LOADED_VERSION));
+    }
+
+    // Must be called while the customer row is locked by the current transaction
+    public void publishOnCommit(Customer customer) {
+        Entry entry = new Entry(customer.getCurrentBalance(), customer.getAccountNumber(),
+                customer.getAccountType() != null ? customer.getAccountType().name() : null,
+                versions.incrementAndGet());
+        Long customerId = customer.getId();
+        TransactionHooks.afterCommit(() -> cache.asMap().merge(customerId, entry,
+                (current, candidate) -> candidate.version > current.version ? candidate : current));
+    }
+
+    public void invalidate(Long customerId) {
+        cache.invalidate(customerId);
+    }
+}
@@ -0,0 +1,506 @@
+package com.vaultx.banking.service;
+
+import com.vaultx.banking.entity.Customer;
+import com.vaultx.banking.entity.CustomerAggregate;
+import com.vaultx.banking.entity.Transaction;
+import com.vaultx.banking.repository.CustomerAggregateRepository;
+import com.vaultx.banking.repository.CustomerRepository;
+import com.vaultx.banking.repository.TransactionRepository;
+import com.vaultx.banking.util.Money;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Writes periodic binary snapshots of every account's balance and aggregates,
+ * and on startup recovers from the latest one: only transactions after its
+ * watermark are replayed, and only the customers they touch are checked
+ * against the tables, so startup cost follows recent activity rather than
+ * total history.
+ *
+ * A snapshot's watermark is the highest transaction id seen one run earlier
+ * (or at startup, before requests are served), so every row at or below it
+ * had committed long before the snapshot was read. Rows above the watermark
+ * that the snapshot already reflects are skipped by each customer's last
+ * transaction id, which grows in commit order because one shard writes each
+ * customer.
+ *
+ * With no valid snapshot there is nothing to replay onto, so the aggregates
+ * are rebuilt from the tables in chunks and the first snapshot is written
+ * straight away, rather than holding the whole history in memory.
+ */
+@Service
+public class BalanceSnapshotService implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(BalanceSnapshotService.class);
+
+    private static final int MAGIC = 0x5658534E; // "VXSN"
+    private static final int FORMAT_VERSION = 1;
+    private static final long END_OF_RECORDS = -1L;
+    private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+    private static final String PREFIX = "balances-";
+    private static final String SUFFIX = ".snapshot";
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private CustomerAggregateRepository customerAggregateRepository;
+
+    @Autowired
+    private AggregateRebuildService aggregateRebuildService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${snapshot.enabled:false}")
+    private boolean enabled;
+
+    @Value("${snapshot.directory:data/snapshots}")
+    private String directory;
+
+    @Value("${snapshot.retain:2}")
+    private int retain;
+
+    @Value("${snapshot.verify-chunk-size:500}")
+    private int verifyChunkSize;
+
+    private final ReentrantLock writing = new ReentrantLock();
+    private volatile long pendingWatermark;
+
+    // Runs after every singleton (including the journal projector's replay) and before the web server starts
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled) {
+            return;
+        }
+        Map<String, Object> report = recover();
+        log.info("Snapshot recovery finished: {}", report);
+        Long maxId = transactionRepository.findMaxId();
+        pendingWatermark = maxId != null ? maxId : 0L;
+    }
+
+    @Scheduled(fixedDelayString = "${snapshot.interval:PT10M}", initialDelayString = "${snapshot.interval:PT10M}")
+    public void scheduledSnapshot() {
+        if (enabled) {
+            takeSnapshot();
+        }
+    }
+
+    public Map<String, Object> takeSnapshot() {
+        if (!writing.tryLock()) {
+            throw new RuntimeException("A snapshot is already being written");
+        }
+        try {
+            long started = System.nanoTime();
+            long watermark = pendingWatermark;
+            Long maxId = transactionRepository.findMaxId();
+
+            Path dir = Files.createDirectories(Paths.get(directory));
+            long createdAt = System.currentTimeMillis();
+            Path target = dir.resolve(PREFIX + createdAt + SUFFIX);
+            Path temp = dir.resolve(target.getFileName() + ".tmp");
+            long accounts = write(temp, createdAt, watermark);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            pendingWatermark = maxId != null ? maxId : 0L;
+            pruneOldSnapshots(dir);
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("file", target.toString());
+            report.put("accounts", accounts);
+            report.put("watermark", watermark);
+            report.put("bytes", Files.size(target));
+            report.put("durationMillis", (System.nanoTime() - started) / 1_000_000);
+            log.info("Balance snapshot written: {}", report);
+            return report;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write balance snapshot", e);
+        } finally {
+            writing.unlock();
+        }
+    }
+
+    private long write(Path file, long createdAt, long watermark) throws IOException {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnly.setReadOnly(true);
+        try (FileOutputStream fileOut = new FileOutputStream(file.toFile())) {
+            BufferedOutputStream buffered = new BufferedOutputStream(fileOut, 1 << 16);
+            CheckedOutputStream checked = new CheckedOutputStream(buffered, new CRC32C());
+            DataOutputStream out = new DataOutputStream(checked);
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(createdAt);
+            out.writeLong(watermark);
+
+            Long count = readOnly.execute(status -> {
+                long written = 0;
+                try (Stream<Object[]> rows = customerRepository.streamSnapshotRows()) {
+                    for (Object[] row : (Iterable<Object[]>) rows::iterator) {
+                        out.writeLong((Long) row[0]);
+                        out.writeLong(Money.toMinor((BigDecimal) row[1]));
+                        out.writeLong(Money.toMinor((BigDecimal) row[2]));
+                        out.writeLong(Money.toMinor((BigDecimal) row[3]));
+                        out.writeLong(Money.toMinor((BigDecimal) row[4]));
+                        out.writeLong(row[5] != null ? (Long) row[5] : 0L);
+                        out.writeLong(toMicros((LocalDateTime) row[6]));
+                        out.writeLong(row[7] != null ? (Long) row[7] : 0L);
+                        written++;
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return written;
+            });
+
+            out.writeLong(END_OF_RECORDS);
+            out.writeLong(count);
+            out.flush();
+            new DataOutputStream(buffered).writeInt((int) checked.getChecksum().getValue());
+            buffered.flush();
+            fileOut.getFD().sync();
+            return count;
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+    }
+
+    private Map<String, Object> recover() {
+        long started = System.nanoTime();
+        Path snapshot = latestValidSnapshot();
+        if (snapshot == null) {
+            return recoverWithoutSnapshot(started);
+        }
+        long watermark = readHeader(snapshot).watermark;
+
+        // Replay the tail first; only the customers it touches need their snapshot entries
+        Map<Long, List<TailRow>> tail = new HashMap<>();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnly.setReadOnly(true);
+        Long replayed = readOnly.execute(status -> {
+            long rows = 0;
+            try (Stream<Object[]> stream = transactionRepository.streamAfter(watermark)) {
+                for (Object[] row : (Iterable<Object[]>) stream::iterator) {
+                    tail.computeIfAbsent((Long) row[1], id -> new ArrayList<>()).add(new TailRow(row));
+                    rows++;
+                }
+            }
+            return rows;
+        });
+
+        Map<Long, AccountState> recovered = new HashMap<>();
+        readAccounts(snapshot, tail, recovered);
+        for (Map.Entry<Long, List<TailRow>> entry : tail.entrySet()) {
+            AccountState state = recovered.computeIfAbsent(entry.getKey(), id -> new AccountState());
+            for (TailRow row : entry.getValue()) {
+                state.apply(row);
+            }
+        }
+
+        int[] outcome = new int[2];
+        List<Long> ids = recovered.keySet().stream().sorted().collect(Collectors.toList());
+        for (int from = 0; from < ids.size(); from += verifyChunkSize) {
+            List<Long> chunk = ids.subList(from, Math.min(from + verifyChunkSize, ids.size()));
+            transactionTemplate.executeWithoutResult(status -> verifyChunk(chunk, recovered, outcome));
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("snapshot", snapshot.getFileName().toString());
+        report.put("watermark", watermark);
+        report.put("transactionsReplayed", replayed);
+        report.put("customersVerified", ids.size());
+        report.put("aggregatesRepaired", outcome[0]);
+        report.put("balanceMismatches", outcome[1]);
+        report.put("durationMillis", (System.nanoTime() - started) / 1_000_000);
+        return report;
+    }
+
+    private Map<String, Object> recoverWithoutSnapshot(long started) {
+        // Requests are not served yet, so every row up to the current max id has committed
+        Long maxId = transactionRepository.findMaxId();
+        pendingWatermark = maxId != null ? maxId : 0L;
+        Map<String, Object> rebuilt = aggregateRebuildService.rebuild();
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("snapshot", null);
+        report.put("watermark", pendingWatermark);
+        report.put("transactionsReplayed", 0L);
+        report.put("customersVerified", rebuilt.get("customersChecked"));
+        report.put("aggregatesRepaired", rebuilt.get("aggregatesRepaired"));
+        try {
+            report.put("snapshotWritten", takeSnapshot().get("file"));
+        } catch (RuntimeException e) {
+            // The scheduled run writes it later; startup does not depend on it
+            log.warn("Could not write the initial balance snapshot: {}", e.getMessage());
+        }
+        report.put("durationMillis", (System.nanoTime() - started) / 1_000_000);
+        return report;
+    }
+
+    private void verifyChunk(List<Long> ids, Map<Long, AccountState> recovered, int[] outcome) {
+        Map<Long, CustomerAggregate> stored = new HashMap<>();
+        for (CustomerAggregate aggregate : customerAggregateRepository.findAllById(ids)) {
+            stored.put(aggregate.getCustomerId(), aggregate);
+        }
+        for (Customer customer : customerRepository.findAllByIdForUpdate(ids)) {
+            AccountState state = recovered.get(customer.getId());
+            if (state.balanceKnown && Money.toMinor(customer.getCurrentBalance()) != state.balance) {
+                // Money is never rewritten here; a mismatch means the tables need investigating
+                log.error("Balance for customer {} is {} but its ledger ends at {}", customer.getId(),
+                        customer.getCurrentBalance(), Money.fromMinor(state.balance));
+                outcome[1]++;
+            }
+
+            CustomerAggregate have = stored.get(customer.getId());
+            if (have == null) {
+                if (state.count > 0) {
+                    log.warn("Aggregate missing for customer {}, recreating", customer.getId());
+                    CustomerAggregate aggregate = new CustomerAggregate(customer.getId());
+                    state.copyTo(aggregate);
+                    customerAggregateRepository.save(aggregate);
+                    outcome[0]++;
+                }
+            } else if (!state.matches(have)) {
+                log.warn("Aggregate drift for customer {}, repairing from snapshot and ledger", customer.getId());
+                state.copyTo(have);
+                outcome[0]++;
+            }
+        }
+    }
+
+    private Path latestValidSnapshot() {
+        for (Path candidate : listSnapshots()) {
+            try {
+                validate(candidate);
+                return candidate;
+            } catch (IOException | RuntimeException e) {
+                log.warn("Ignoring unreadable snapshot {}: {}", candidate, e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    // Newest first
+    private List<Path> listSnapshots() {
+        Path dir = Paths.get(directory);
+        if (!Files.isDirectory(dir)) {
+            return new ArrayList<>();
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(path -> path.getFileName().toString().startsWith(PREFIX)
+                            && path.getFileName().toString().endsWith(SUFFIX))
+                    .sorted(Comparator.comparingLong(BalanceSnapshotService::createdAtOf).reversed())
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void pruneOldSnapshots(Path dir) throws IOException {
+        List<Path> snapshots = listSnapshots();
+        for (int i = Math.max(retain, 1); i < snapshots.size(); i++) {
+            Files.deleteIfExists(snapshots.get(i));
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path leftover : (Iterable<Path>) files.filter(path -> path.toString().endsWith(".tmp"))::iterator) {
+                Files.deleteIfExists(leftover);
+            }
+        }
+    }
+
+    private void validate(Path file) throws IOException {
+        try (InputStream raw = new BufferedInputStream(Files.newInputStream(file), 1 << 16)) {
+            CheckedInputStream checked = new CheckedInputStream(raw, new CRC32C());
+            DataInputStream in = new DataInputStream(checked);
+            readHeader(in);
+            long records = 0;
+            while (in.readLong() != END_OF_RECORDS) {
+                in.skipNBytes(7 * Long.BYTES);
+                records++;
+            }
+            if (in.readLong() != records) {
+                throw new IOException("record count does not match");
+            }
+            int expected = (int) checked.getChecksum().getValue();
+            if (new DataInputStream(raw).readInt() != expected) {
+                throw new IOException("checksum mismatch");
+            }
+        } catch (EOFException e) {
+            throw new IOException("truncated", e);
+        }
+    }
+
+    private Header readHeader(Path file) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            return readHeader(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Header readHeader(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("not a balance snapshot");
+        }
+        int version = in.readInt();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("unsupported snapshot version " + version);
+        }
+        return new Header(in.readLong(), in.readLong());
+    }
+
+    private void readAccounts(Path file, Map<Long, ?> wanted, Map<Long, AccountState> into) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            readHeader(in);
+            long id;
+            while ((id = in.readLong()) != END_OF_RECORDS) {
+                if (!wanted.containsKey(id)) {
+                    in.skipNBytes(7 * Long.BYTES);
+                    continue;
+                }
+                AccountState state = new AccountState();
+                state.balance = in.readLong();
+                state.balanceKnown = true;
+                state.credits = in.readLong();
+                state.debits = in.readLong();
+                state.transfers = in.readLong();
+                state.count = in.readLong();
+                state.lastTransactionAt = fromMicros(in.readLong());
+                state.lastTransactionId = in.readLong();
+                into.put(id, state);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static long createdAtOf(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    private static long toMicros(LocalDateTime time) {
+        if (time == null) {
+            return NO_TIMESTAMP;
+        }
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        if (micros == NO_TIMESTAMP) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    private static class Header {
+        private final long createdAt;
+        private final long watermark;
+
+        private Header(long createdAt, long watermark) {
+            this.createdAt = createdAt;
+            this.watermark = watermark;
+        }
+    }
+
+    private static class TailRow {
+        private final long id;
+        private final Transaction.TransactionType type;
+        private final long amount;
+        private final long balanceAfter;
+        private final LocalDateTime createdAt;
+
+        private TailRow(Object[] row) {
+            this.id = (Long) row[0];
+            this.type = (Transaction.TransactionType) row[2];
+            this.amount = Money.toMinor((BigDecimal) row[3]);
+            this.balanceAfter = Money.toMinor((BigDecimal) row[4]);
+            this.createdAt = (LocalDateTime) row[5];
+        }
+    }
+
+    // Balance and aggregates in minor units
+    private static class AccountState {
+        private long balance;
+        private boolean balanceKnown;
+        private long credits;
+        private long debits;
+        private long transfers;
+        private long count;
+        private LocalDateTime lastTransactionAt;
+        private long lastTransactionId;
+
+        private void apply(TailRow row) {
+            if (row.id <= lastTransactionId) {
+                return;
+            }
+            switch (row.type) {
+                case CREDIT -> credits += row.amount;
+                case DEBIT -> debits += row.amount;
+                case TRANSFER -> transfers += row.amount;
+            }
+            count++;
+            balance = row.balanceAfter;
+            balanceKnown = true;
+            lastTransactionId = row.id;
+            if (lastTransactionAt == null || row.createdAt.isAfter(lastTransactionAt)) {
+                lastTransactionAt = row.createdAt;
+            }
+        }
+
+        private boolean matches(CustomerAggregate aggregate) {
+            return aggregate.getTransactionCount() == count
+                    && Money.toMinor(aggregate.getTotalCredits()) == credits
+                    && Money.toMinor(aggregate.getTotalDebits()) == debits
+                    && Money.toMinor(aggregate.getTotalTransfers()) == transfers
+                    && aggregate.getLastTransactionId() != null && aggregate.getLastTransactionId() == lastTransactionId;
+        }
+
+        private void copyTo(CustomerAggregate aggregate) {
+            aggregate.setTotalCredits(Money.fromMinor(credits));
+            aggregate.setTotalDebits(Money.fromMinor(debits));
+            aggregate.setTotalTransfers(Money.fromMinor(transfers));
+            aggregate.setTransactionCount(count);
+            aggregate.setLastTransactionAt(lastTransactionAt);
+            aggregate.setLastTransactionId(lastTransactionId);
+        }
+    }
+}
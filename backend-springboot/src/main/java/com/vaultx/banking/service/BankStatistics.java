@@ -0,0 +1,165 @@
+package com.vaultx.banking.service;
+
+import com.vaultx.banking.entity.Customer;
+import com.vaultx.banking.repository.CustomerRepository;
+import com.vaultx.banking.util.Money;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bank-wide counters kept incrementally from status changes and ledger
+ * writes, so the dashboard never runs a full-table aggregate. Deltas are
+ * applied after commit; a periodic reconciliation against the database
+ * logs and corrects any drift.
+ *
+ * A writer's rows are visible from its commit, but its delta lands a moment
+ * later in afterCommit. Writers therefore count as pending from beforeCommit
+ * to afterCompletion, and reconciliation only corrects from counts taken while
+ * no writer was pending and no delta was applied. Otherwise it would add a
+ * delta that the writer is about to add itself.
+ */
+@Component
+public class BankStatistics {
+
+    private static final Logger log = LoggerFactory.getLogger(BankStatistics.class);
+
+    private static final int RECONCILE_ATTEMPTS = 3;
+
+    private final LongAdder approvedCustomers = new LongAdder();
+    private final LongAdder activeCustomers = new LongAdder();
+    private final LongAdder approvedBalanceMinor = new LongAdder();
+    // Bumped on every applied delta so reconciliation can tell whether it raced with writers
+    private final LongAdder updates = new LongAdder();
+    // Writers between beforeCommit and afterCompletion, whose rows may be visible before their delta is applied
+    private final AtomicInteger pendingWriters = new AtomicInteger();
+
+    private volatile LocalDateTime lastReconciledAt;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    public long getApprovedCustomers() { return approvedCustomers.sum(); }
+
+    public long getActiveCustomers() { return activeCustomers.sum(); }
+
+    public BigDecimal getTotalApprovedBalance() { return Money.fromMinor(approvedBalanceMinor.sum()); }
+
+    public LocalDateTime getLastReconciledAt() { return lastReconciledAt; }
+
+    // Call with the customer's state before and after a change, inside the changing transaction
+    public void recordChangeOnCommit(Customer.CustomerStatus oldStatus, boolean wasActive, BigDecimal oldBalance,
+                                     Customer.CustomerStatus newStatus, boolean isActive, BigDecimal newBalance) {
+        boolean wasApproved = oldStatus == Customer.CustomerStatus.APPROVED;
+        boolean isApproved = newStatus == Customer.CustomerStatus.APPROVED;
+        long approvedDelta = (isApproved ? 1 : 0) - (wasApproved ? 1 : 0);
+        long activeDelta = (isActive ? 1 : 0) - (wasActive ? 1 : 0);
+        long balanceDelta = (isApproved ? Money.toMinor(newBalance) : 0) - (wasApproved ? Money.toMinor(oldBalance) : 0);
+        if (approvedDelta == 0 && activeDelta == 0 && balanceDelta == 0) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(approvedDelta, activeDelta, balanceDelta);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean pending;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                pendingWriters.incrementAndGet();
+                pending = true;
+            }
+
+            @Override
+            public void afterCommit() {
+                apply(approvedDelta, activeDelta, balanceDelta);
+            }
+
+            // Also runs when the commit itself fails, so a writer never stays pending
+            @Override
+            public void afterCompletion(int status) {
+                if (pending) {
+                    pendingWriters.decrementAndGet();
+                }
+            }
+        });
+    }
+
+    private void apply(long approvedDelta, long activeDelta, long balanceDelta) {
+        approvedCustomers.add(approvedDelta);
+        activeCustomers.add(activeDelta);
+        approvedBalanceMinor.add(balanceDelta);
+        updates.increment();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        reconcile();
+    }
+
+    @Scheduled(fixedDelayString = "${statistics.reconcile-interval:PT5M}",
+               initialDelayString = "${statistics.reconcile-interval:PT5M}")
+    public void reconcile() {
+        for (int attempt = 0; attempt < RECONCILE_ATTEMPTS; attempt++) {
+            if (tryReconcile()) {
+                lastReconciledAt = LocalDateTime.now();
+                return;
+            }
+        }
+        log.debug("Statistics kept changing during reconciliation, retrying on the next run");
+    }
+
+    // Corrects drift from one quiet snapshot; false when a writer overlapped it
+    private boolean tryReconcile() {
+        long updatesBefore = updates.sum();
+        if (pendingWriters.get() != 0) {
+            return false;
+        }
+        TransactionTemplate snapshot = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        snapshot.setReadOnly(true);
+        snapshot.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        long[] counts = snapshot.execute(status -> new long[] {
+                customerRepository.countApprovedCustomers(),
+                customerRepository.countActiveCustomers(),
+                Money.toMinor(customerRepository.getTotalBalance())
+        });
+        long approvedSeen = approvedCustomers.sum();
+        long activeSeen = activeCustomers.sum();
+        long balanceSeen = approvedBalanceMinor.sum();
+        // A writer that committed before or during the counts is either still pending or has bumped updates
+        if (pendingWriters.get() != 0 || updates.sum() != updatesBefore) {
+            return false;
+        }
+
+        long approvedDrift = counts[0] - approvedSeen;
+        long activeDrift = counts[1] - activeSeen;
+        long balanceDrift = counts[2] - balanceSeen;
+        if (approvedDrift != 0 || activeDrift != 0 || balanceDrift != 0) {
+            if (lastReconciledAt != null) {
+                log.warn("Statistics drift corrected: approved {}, active {}, balance {}",
+                        approvedDrift, activeDrift, Money.fromMinor(balanceDrift));
+            }
+            approvedCustomers.add(approvedDrift);
+            activeCustomers.add(activeDrift);
+            approvedBalanceMinor.add(balanceDrift);
+        }
+        return true;
+    }
+}
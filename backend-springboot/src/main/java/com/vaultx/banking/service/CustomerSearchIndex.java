@@ -0,0 +1,589 @@
+package com.vaultx.banking.service;
+
+import com.vaultx.banking.dto.CustomerSearchResultDto;
+import com.vaultx.banking.entity.Customer;
+import com.vaultx.banking.repository.CustomerRepository;
+import com.vaultx.banking.util.TransactionHooks;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * In-memory typeahead index over customer names, email, phone and account
+ * number, matched by prefix (ASCII case-insensitive).
+ *
+ * Most customers live in an immutable base: each one's five fields packed
+ * into a single byte array, plus one sorted int array of (customer, field)
+ * references, binary-searched by prefix. No per-token strings or tree nodes
+ * are kept, which holds the footprint near the size of the text itself.
+ * Registrations and status changes go, once committed, into a small
+ * concurrent delta that shadows the base; when the delta grows past
+ * {@code search.compaction-threshold} a background thread folds it into a
+ * new base.
+ */
+@Component
+public class CustomerSearchIndex implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(CustomerSearchIndex.class);
+
+    public static final int MAX_LIMIT = 50;
+    public static final int MAX_QUERY_LENGTH = 100;
+
+    // Packed field order, which is also the tie-break between equally good matches
+    private static final int ACCOUNT_NUMBER = 0;
+    private static final int EMAIL = 1;
+    private static final int PHONE = 2;
+    private static final int LAST_NAME = 3;
+    private static final int FIRST_NAME = 4;
+    private static final int FIELD_COUNT = 5;
+    private static final String[] FIELD_NAMES = {"accountNumber", "email", "phone", "lastName", "firstName"};
+    private static final int MAX_FIELD_BYTES = 255;
+    private static final byte[] EMPTY = new byte[0];
+    // References examined per query, which bounds the latency of one-letter queries
+    private static final int MAX_SCAN = 4096;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${search.compaction-threshold:4096}")
+    private int compactionThreshold = 4096;
+
+    private final Object writeLock = new Object();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "search-index-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile State state = new State(Base.EMPTY);
+
+    private static final class Entry {
+        private final long id;
+        // FIELD_COUNT fields, each a length byte followed by that many UTF-8 bytes
+        private final byte[] text;
+        private final Customer.CustomerStatus status;
+
+        private Entry(long id, byte[] text, Customer.CustomerStatus status) {
+            this.id = id;
+            this.text = text;
+            this.status = status;
+        }
+
+        private int offset(int field) {
+            int offset = 0;
+            for (int f = 0; f < field; f++) {
+                offset += 1 + (text[offset] & 0xff);
+            }
+            return offset;
+        }
+
+        private String field(int field) {
+            int offset = offset(field);
+            int length = text[offset] & 0xff;
+            return length > 0 ? new String(text, offset + 1, length, StandardCharsets.UTF_8) : null;
+        }
+    }
+
+    private static final class Base {
+        private static final Base EMPTY = new Base(new Entry[0], new int[0], 0);
+
+        private final Entry[] entries;
+        // (entry index << 3) | field, sorted by field text, then customer id
+        private final int[] refs;
+        private final long bytes;
+
+        private Base(Entry[] entries, int[] refs, long bytes) {
+            this.entries = entries;
+            this.refs = refs;
+            this.bytes = bytes;
+        }
+    }
+
+    private static final class DeltaRef {
+        private final Entry entry;
+        private final int field;
+        private final int offset;
+
+        private DeltaRef(Entry entry, int field) {
+            this.entry = entry;
+            this.field = field;
+            this.offset = entry.offset(field);
+        }
+    }
+
+    private static final Comparator<DeltaRef> DELTA_ORDER = (a, b) -> {
+        int order = compare(a.entry.text, a.offset, b.entry.text, b.offset);
+        if (order != 0) {
+            return order;
+        }
+        order = Long.compare(a.entry.id, b.entry.id);
+        return order != 0 ? order : Integer.compare(a.field, b.field);
+    };
+
+    // Readers use whichever state they see; writers and the compactor replace it under writeLock
+    private static final class State {
+        private final Base base;
+        // Newer than base; an id present here hides that customer's base entry
+        private final ConcurrentMap<Long, Entry> delta = new ConcurrentHashMap<>();
+        private final ConcurrentSkipListSet<DeltaRef> deltaRefs = new ConcurrentSkipListSet<>(DELTA_ORDER);
+
+        private State(Base base) {
+            this.base = base;
+        }
+    }
+
+    private static final class Hit {
+        private final Entry entry;
+        private final int field;
+        private final boolean exact;
+        private final int length;
+
+        private Hit(Entry entry, int field, int termLength) {
+            this.entry = entry;
+            this.field = field;
+            this.length = entry.text[entry.offset(field)] & 0xff;
+            this.exact = length == termLength;
+        }
+    }
+
+    // Exact matches first, then by field, then the shortest (closest) match
+    private static final Comparator<Hit> RANK = Comparator.<Hit>comparingInt(hit -> hit.exact ? 0 : 1)
+            .thenComparingInt(hit -> hit.field)
+            .thenComparingInt(hit -> hit.length)
+            .thenComparingLong(hit -> hit.entry.id);
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        long started = System.nanoTime();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnly.setReadOnly(true);
+        readOnly.execute(status -> {
+            try (Stream<Object[]> rows = customerRepository.streamSearchRows()) {
+                rebuild(rows.map(row -> entry((Long) row[0], (String) row[1], (String) row[2], (String) row[3],
+                        (String) row[4], (String) row[5], (Customer.CustomerStatus) row[6])).iterator());
+            }
+            return null;
+        });
+        Base base = state.base;
+        log.info("Search index loaded {} customers in {} ms, about {} bytes per customer", base.entries.length,
+                (System.nanoTime() - started) / 1_000_000, base.entries.length > 0 ? base.bytes / base.entries.length : 0);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        compactor.shutdownNow();
+    }
+
+    // Replaces the whole index; for bulk loads outside the application, such as benchmarks
+    public void replaceAll(Iterable<Customer> customers) {
+        Iterator<Customer> source = customers.iterator();
+        rebuild(new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return source.hasNext();
+            }
+
+            @Override
+            public Entry next() {
+                return entry(source.next());
+            }
+        });
+    }
+
+    // Must be called inside the transaction that saved the customer; the index sees it once that commits
+    public void indexOnCommit(Customer customer) {
+        Entry entry = entry(customer);
+        TransactionHooks.afterCommit(() -> put(entry));
+    }
+
+    public void put(Customer customer) {
+        put(entry(customer));
+    }
+
+    public List<CustomerSearchResultDto> search(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new RuntimeException("Search query is required");
+        }
+        if (query.length() > MAX_QUERY_LENGTH) {
+            throw new RuntimeException("Search query must be at most " + MAX_QUERY_LENGTH + " characters");
+        }
+        int max = Math.max(1, Math.min(limit, MAX_LIMIT));
+        String[] words = query.trim().split("\\s+");
+        byte[][] terms = new byte[words.length][];
+        int scanTerm = 0;
+        for (int i = 0; i < words.length; i++) {
+            terms[i] = term(words[i]);
+            // The longest word is the most selective one to scan by; the others filter
+            if (terms[i].length > terms[scanTerm].length) {
+                scanTerm = i;
+            }
+        }
+
+        State current = state;
+        List<Hit> hits = new ArrayList<>(2 * max);
+        Set<Long> seen = new HashSet<>();
+        scanBase(current, terms, scanTerm, max, hits, seen);
+        scanDelta(current, terms, scanTerm, max, hits, seen);
+        hits.sort(RANK);
+
+        List<CustomerSearchResultDto> results = new ArrayList<>(Math.min(max, hits.size()));
+        for (int i = 0; i < hits.size() && i < max; i++) {
+            results.add(toResult(hits.get(i)));
+        }
+        return results;
+    }
+
+    public Map<String, Object> stats() {
+        State current = state;
+        long deltaBytes = 0;
+        for (Entry entry : current.delta.values()) {
+            // Map node, key and the skip-list nodes of its references
+            deltaBytes += entryBytes(entry) + 64 + FIELD_COUNT * 64L;
+        }
+        int baseCustomers = current.base.entries.length;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("baseCustomers", baseCustomers);
+        // Includes updates to customers that are also in the base
+        stats.put("deltaCustomers", current.delta.size());
+        stats.put("estimatedBytes", current.base.bytes + deltaBytes);
+        stats.put("baseBytesPerCustomer", baseCustomers > 0 ? current.base.bytes / baseCustomers : 0);
+        stats.put("compactionThreshold", compactionThreshold);
+        return stats;
+    }
+
+    private void put(Entry entry) {
+        synchronized (writeLock) {
+            State current = state;
+            // New references go in before the entry becomes current, old ones come out after
+            for (int field = 0; field < FIELD_COUNT; field++) {
+                if (length(entry, field) > 0) {
+                    current.deltaRefs.add(new DeltaRef(entry, field));
+                }
+            }
+            Entry previous = current.delta.put(entry.id, entry);
+            if (previous != null) {
+                for (int field = 0; field < FIELD_COUNT; field++) {
+                    current.deltaRefs.remove(new DeltaRef(previous, field));
+                }
+            }
+            if (current.delta.size() >= compactionThreshold && rebuilding.compareAndSet(false, true)) {
+                compactor.execute(this::compact);
+            }
+        }
+    }
+
+    private void compact() {
+        try {
+            Base base = state.base;
+            rebuild(Arrays.asList(base.entries).iterator());
+        } catch (RuntimeException e) {
+            log.error("Search index compaction failed", e);
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    /**
+     * Builds a new base from {@code source} plus everything in the current
+     * delta, which takes precedence, and installs it. Delta entries that
+     * arrive while the base is being built are carried over.
+     */
+    private void rebuild(Iterator<Entry> source) {
+        Map<Long, Entry> changes = new HashMap<>(state.delta);
+        List<Entry> entries = new ArrayList<>();
+        while (source.hasNext()) {
+            Entry entry = source.next();
+            if (!changes.containsKey(entry.id)) {
+                entries.add(entry);
+            }
+        }
+        entries.addAll(changes.values());
+        Base base = build(entries.toArray(new Entry[0]));
+
+        synchronized (writeLock) {
+            State next = new State(base);
+            for (Entry entry : state.delta.values()) {
+                if (changes.get(entry.id) != entry) {
+                    next.delta.put(entry.id, entry);
+                    for (int field = 0; field < FIELD_COUNT; field++) {
+                        if (length(entry, field) > 0) {
+                            next.deltaRefs.add(new DeltaRef(entry, field));
+                        }
+                    }
+                }
+            }
+            state = next;
+        }
+    }
+
+    private static Base build(Entry[] entries) {
+        int count = 0;
+        long bytes = 16 + 4L * entries.length;
+        for (Entry entry : entries) {
+            for (int field = 0; field < FIELD_COUNT; field++) {
+                if (length(entry, field) > 0) {
+                    count++;
+                }
+            }
+            bytes += entryBytes(entry);
+        }
+        int[] refs = new int[count];
+        int next = 0;
+        for (int i = 0; i < entries.length; i++) {
+            for (int field = 0; field < FIELD_COUNT; field++) {
+                if (length(entries[i], field) > 0) {
+                    refs[next++] = i << 3 | field;
+                }
+            }
+        }
+        sort(refs, entries);
+        return new Base(entries, refs, bytes + 16 + 4L * refs.length);
+    }
+
+    private void scanBase(State current, byte[][] terms, int scanTerm, int max, List<Hit> hits, Set<Long> seen) {
+        Base base = current.base;
+        byte[] term = terms[scanTerm];
+        int found = 0;
+        int start = lowerBound(base, term);
+        int end = Math.min(base.refs.length, start + MAX_SCAN);
+        for (int i = start; i < end && found < max; i++) {
+            int ref = base.refs[i];
+            Entry entry = base.entries[ref >>> 3];
+            int field = ref & 7;
+            if (comparePrefix(entry.text, entry.offset(field), term) != 0) {
+                break;
+            }
+            if (current.delta.containsKey(entry.id) || !matchesAll(entry, terms, scanTerm) || !seen.add(entry.id)) {
+                continue;
+            }
+            hits.add(new Hit(entry, field, term.length));
+            found++;
+        }
+    }
+
+    private void scanDelta(State current, byte[][] terms, int scanTerm, int max, List<Hit> hits, Set<Long> seen) {
+        byte[] term = terms[scanTerm];
+        byte[] probeText = new byte[1 + term.length];
+        probeText[0] = (byte) term.length;
+        System.arraycopy(term, 0, probeText, 1, term.length);
+        DeltaRef probe = new DeltaRef(new Entry(Long.MIN_VALUE, probeText, null), 0);
+
+        int found = 0;
+        int scanned = 0;
+        for (DeltaRef ref : current.deltaRefs.tailSet(probe, true)) {
+            if (found >= max || scanned++ >= MAX_SCAN || comparePrefix(ref.entry.text, ref.offset, term) != 0) {
+                break;
+            }
+            // Skip references left behind by an entry that has since been replaced
+            if (current.delta.get(ref.entry.id) != ref.entry || !matchesAll(ref.entry, terms, scanTerm)
+                    || !seen.add(ref.entry.id)) {
+                continue;
+            }
+            hits.add(new Hit(ref.entry, ref.field, term.length));
+            found++;
+        }
+    }
+
+    private static int lowerBound(Base base, byte[] term) {
+        int low = 0;
+        int high = base.refs.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            Entry entry = base.entries[base.refs[mid] >>> 3];
+            if (comparePrefix(entry.text, entry.offset(base.refs[mid] & 7), term) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static boolean matchesAll(Entry entry, byte[][] terms, int skip) {
+        for (int i = 0; i < terms.length; i++) {
+            if (i == skip) {
+                continue;
+            }
+            boolean matched = false;
+            for (int field = 0, offset = 0; field < FIELD_COUNT && !matched; field++) {
+                matched = (entry.text[offset] & 0xff) > 0 && comparePrefix(entry.text, offset, terms[i]) == 0;
+                offset += 1 + (entry.text[offset] & 0xff);
+            }
+            if (!matched) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private CustomerSearchResultDto toResult(Hit hit) {
+        Entry entry = hit.entry;
+        CustomerSearchResultDto result = new CustomerSearchResultDto();
+        result.setId(entry.id);
+        result.setFirstName(entry.field(FIRST_NAME));
+        result.setLastName(entry.field(LAST_NAME));
+        result.setEmail(entry.field(EMAIL));
+        result.setPhone(entry.field(PHONE));
+        result.setAccountNumber(entry.field(ACCOUNT_NUMBER));
+        result.setStatus(entry.status != null ? entry.status.name() : null);
+        result.setMatchedField(FIELD_NAMES[hit.field]);
+        return result;
+    }
+
+    private static Entry entry(Customer customer) {
+        return entry(customer.getId(), customer.getFirstName(), customer.getLastName(), customer.getEmail(),
+                customer.getPhone(), customer.getAccountNumber(), customer.getStatus());
+    }
+
+    private static Entry entry(Long id, String firstName, String lastName, String email, String phone,
+                               String accountNumber, Customer.CustomerStatus status) {
+        byte[][] fields = new byte[FIELD_COUNT][];
+        fields[ACCOUNT_NUMBER] = utf8(accountNumber);
+        fields[EMAIL] = utf8(email);
+        fields[PHONE] = utf8(phone);
+        fields[LAST_NAME] = utf8(lastName);
+        fields[FIRST_NAME] = utf8(firstName);
+        int size = FIELD_COUNT;
+        for (byte[] field : fields) {
+            size += field.length;
+        }
+        byte[] text = new byte[size];
+        int offset = 0;
+        for (byte[] field : fields) {
+            text[offset] = (byte) field.length;
+            System.arraycopy(field, 0, text, offset + 1, field.length);
+            offset += 1 + field.length;
+        }
+        return new Entry(id, text, status);
+    }
+
+    private static byte[] utf8(String value) {
+        if (value == null) {
+            return EMPTY;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= MAX_FIELD_BYTES) {
+            return bytes;
+        }
+        // Cut at a character boundary so the stored prefix still decodes
+        int end = MAX_FIELD_BYTES;
+        while (end > 0 && (bytes[end] & 0xc0) == 0x80) {
+            end--;
+        }
+        return Arrays.copyOf(bytes, end);
+    }
+
+    // Folded the same way as stored text, so both sides compare consistently
+    private static byte[] term(String word) {
+        byte[] bytes = utf8(word);
+        byte[] term = new byte[bytes.length];
+        for (int i = 0; i < bytes.length; i++) {
+            term[i] = (byte) fold(bytes[i]);
+        }
+        return term;
+    }
+
+    private static int length(Entry entry, int field) {
+        return entry.text[entry.offset(field)] & 0xff;
+    }
+
+    private static int fold(byte b) {
+        int c = b & 0xff;
+        return c >= 'A' && c <= 'Z' ? c + ('a' - 'A') : c;
+    }
+
+    // Compares two length-prefixed fields
+    private static int compare(byte[] a, int aOffset, byte[] b, int bOffset) {
+        int aLength = a[aOffset] & 0xff;
+        int bLength = b[bOffset] & 0xff;
+        int n = Math.min(aLength, bLength);
+        for (int i = 1; i <= n; i++) {
+            int x = fold(a[aOffset + i]);
+            int y = fold(b[bOffset + i]);
+            if (x != y) {
+                return x - y;
+            }
+        }
+        return aLength - bLength;
+    }
+
+    // 0 when the field starts with the (already folded) term, otherwise the field's order relative to it
+    private static int comparePrefix(byte[] text, int offset, byte[] term) {
+        int length = text[offset] & 0xff;
+        int n = Math.min(length, term.length);
+        for (int i = 0; i < n; i++) {
+            int x = fold(text[offset + 1 + i]);
+            int y = term[i] & 0xff;
+            if (x != y) {
+                return x - y;
+            }
+        }
+        return length >= term.length ? 0 : -1;
+    }
+
+    private static long entryBytes(Entry entry) {
+        // Object header, id and two references, plus the packed text array
+        return 32 + ((16 + entry.text.length + 7) & ~7L);
+    }
+
+    // Bottom-up merge sort of primitive references, avoiding an Integer[] copy of millions of refs
+    private static void sort(int[] refs, Entry[] entries) {
+        int[] source = refs;
+        int[] target = new int[refs.length];
+        for (int width = 1; width < refs.length; width *= 2) {
+            for (int start = 0; start < refs.length; start += 2 * width) {
+                int middle = Math.min(start + width, refs.length);
+                int end = Math.min(start + 2 * width, refs.length);
+                int left = start;
+                int right = middle;
+                for (int i = start; i < end; i++) {
+                    if (left < middle && (right >= end || compareRefs(entries, source[left], source[right]) <= 0)) {
+                        target[i] = source[left++];
+                    } else {
+                        target[i] = source[right++];
+                    }
+                }
+            }
+            int[] swap = source;
+            source = target;
+            target = swap;
+        }
+        if (source != refs) {
+            System.arraycopy(source, 0, refs, 0, refs.length);
+        }
+    }
+
+    private static int compareRefs(Entry[] entries, int a, int b) {
+        Entry x = entries[a >>> 3];
+        Entry y = entries[b >>> 3];
+        int order = compare(x.text, x.offset(a & 7), y.text, y.offset(b & 7));
+        return order != 0 ? order : Long.compare(x.id, y.id);
+    }
+}
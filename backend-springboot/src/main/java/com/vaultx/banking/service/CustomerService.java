@@ -1,19 +1,46 @@
 package com.vaultx.banking.service;
 
+import com.vaultx.banking.audit.AuditPipeline;
 import com.vaultx.banking.dto.*;
 import com.vaultx.banking.entity.Customer;
+import com.vaultx.banking.entity.CustomerAggregate;
 import com.vaultx.banking.entity.Transaction;
+import com.vaultx.banking.ledger.LedgerCommand;
+import com.vaultx.banking.ledger.LedgerEngine;
+import com.vaultx.banking.ledger.LedgerResult;
+import com.vaultx.banking.ledger.LedgerWriter;
+import com.vaultx.banking.repository.BalanceView;
+import com.vaultx.banking.repository.CustomerAggregateRepository;
 import com.vaultx.banking.repository.CustomerRepository;
 import com.vaultx.banking.repository.TransactionRepository;
+import com.vaultx.banking.util.SnowflakeIdGenerator;
+import com.vaultx.banking.util.TransactionHooks;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,8 +53,52 @@ public class CustomerService {
     @Autowired
     private TransactionRepository transactionRepository;
 
-    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    @Autowired
+    private LedgerEngine ledgerEngine;
+
+    @Autowired
+    private LedgerWriter ledgerWriter;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private BalanceCache balanceCache;
+
+    @Autowired
+    private CustomerAggregateRepository customerAggregateRepository;
+
+    @Autowired
+    private BankStatistics bankStatistics;
+
+    @Autowired
+    private SnowflakeIdGenerator idGenerator;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private AuditPipeline auditPipeline;
+
+    @Autowired
+    private CustomerSearchIndex customerSearchIndex;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private static final int MAX_TRANSACTION_PAGE_SIZE = 100;
+    private static final int MAX_CUSTOMER_PAGE_SIZE = 200;
+    // Ids locked and loaded per statement by the batch status update
+    private static final int STATUS_BATCH_CHUNK_SIZE = 1000;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
 
+    // Hashing runs outside any transaction so no connection is held while BCrypt works
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public CustomerResponseDto registerCustomer(CustomerRegistrationDto registrationDto) {
         // Check if email already exists
         if (customerRepository.existsByEmail(registrationDto.getEmail())) {
@@ -45,7 +116,7 @@ public class CustomerService {
         customer.setEmail(registrationDto.getEmail());
         customer.setPhone(registrationDto.getPhone());
         customer.setDateOfBirth(registrationDto.getDateOfBirth());
-        customer.setPassword(passwordEncoder.encode(registrationDto.getPassword()));
+        customer.setPassword(passwordHashingService.encode(registrationDto.getPassword()));
         customer.setAccountType(Customer.AccountType.valueOf(registrationDto.getAccountType().toUpperCase()));
         customer.setInitialDeposit(registrationDto.getInitialDeposit());
         customer.setCurrentBalance(registrationDto.getInitialDeposit());
@@ -56,15 +127,17 @@ public class CustomerService {
         customer.setStatus(Customer.CustomerStatus.DOCUMENTS_SUBMITTED);
 
         Customer savedCustomer = customerRepository.save(customer);
+        customerSearchIndex.indexOnCommit(savedCustomer);
         return convertToResponseDto(savedCustomer);
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public CustomerLoginResponseDto loginCustomer(CustomerLoginDto loginDto) {
         Customer customer = customerRepository.findByEmail(loginDto.getEmailOrPhone())
                 .orElseGet(() -> customerRepository.findByPhone(loginDto.getEmailOrPhone())
                         .orElseThrow(() -> new RuntimeException("Customer not found")));
 
-        if (!passwordEncoder.matches(loginDto.getPassword(), customer.getPassword())) {
+        if (!passwordHashingService.matches(loginDto.getPassword(), customer.getPassword())) {
             throw new RuntimeException("Invalid password");
         }
 
@@ -75,6 +148,8 @@ public class CustomerService {
         response.setLastName(customer.getLastName());
         response.setStatus(customer.getStatus().name());
         response.setCanPerformOperations(customer.isCanPerformOperations());
+        response.setToken(jwtService.issue(customer.getId()));
+        response.setExpiresIn(jwtService.getExpirationMillis());
         return response;
     }
 
@@ -84,93 +159,299 @@ public class CustomerService {
         return convertToResponseDto(customer);
     }
 
-    public List<CustomerResponseDto> getAllCustomers() {
-        return customerRepository.findAll().stream()
-                .map(this::convertToResponseDto)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public PageResponseDto<CustomerSummaryDto> getCustomers(String status, String accountType,
+                                                           LocalDate submittedFrom, LocalDate submittedTo,
+                                                           int page, int size) {
+        Customer.CustomerStatus statusFilter = parseEnum(Customer.CustomerStatus.class, status, "status");
+        Customer.AccountType accountTypeFilter = parseEnum(Customer.AccountType.class, accountType, "account type");
+        int pageSize = Math.max(1, Math.min(size, MAX_CUSTOMER_PAGE_SIZE));
+        Pageable pageable = PageRequest.of(Math.max(page, 0), pageSize);
+
+        return new PageResponseDto<>(customerRepository.findSummaries(statusFilter, accountTypeFilter,
+                submittedFrom, submittedTo, pageable));
     }
 
     public CustomerResponseDto updateCustomerStatus(Long customerId, CustomerStatusUpdateDto statusUpdateDto) {
-        Customer customer = customerRepository.findById(customerId)
+        try {
+            return applyStatusUpdate(customerId, statusUpdateDto);
+        } catch (RuntimeException e) {
+            auditPipeline.recordStatusChange(customerId, null, statusUpdateDto.getStatus(), false, e.getMessage());
+            throw e;
+        }
+    }
+
+    private CustomerResponseDto applyStatusUpdate(Long customerId, CustomerStatusUpdateDto statusUpdateDto) {
+        Customer customer = customerRepository.findByIdForUpdate(customerId)
                 .orElseThrow(() -> new RuntimeException("Customer not found"));
+        Customer.CustomerStatus oldStatus = customer.getStatus();
+        boolean wasActive = customer.isCanPerformOperations();
+
+        applyStatusFields(customer, Customer.CustomerStatus.valueOf(statusUpdateDto.getStatus()), statusUpdateDto);
+
+        Customer savedCustomer = customerRepository.save(customer);
+        publishStatusChange(savedCustomer, oldStatus, wasActive);
+        return convertToResponseDto(savedCustomer);
+    }
+
+    /**
+     * Applies a list of status updates in one transaction and reports each
+     * one; invalid or unknown ids are reported, not thrown. Rows are locked
+     * in id order a chunk at a time. Updates that assign no account number
+     * become one UPDATE per distinct target state, while approvals are
+     * changed as entities and flushed in JDBC batches.
+     */
+    public List<BatchStatusUpdateResultDto> updateCustomerStatuses(List<CustomerStatusUpdateDto> updates) {
+        BatchStatusUpdateResultDto[] results = new BatchStatusUpdateResultDto[updates.size()];
+        TreeMap<Long, Integer> indexes = new TreeMap<>();
+        for (int i = 0; i < updates.size(); i++) {
+            CustomerStatusUpdateDto dto = updates.get(i);
+            String error = validateStatusItem(dto);
+            if (error == null && indexes.putIfAbsent(dto.getCustomerId(), i) != null) {
+                error = "Customer appears more than once in the batch";
+            }
+            if (error != null) {
+                results[i] = statusFailure(i, dto, error);
+            }
+        }
+
+        List<Long> ids = new ArrayList<>(indexes.keySet());
+        for (int from = 0; from < ids.size(); from += STATUS_BATCH_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + STATUS_BATCH_CHUNK_SIZE, ids.size()));
+            LocalDateTime now = LocalDateTime.now();
+            Map<String, List<Customer>> setBased = new LinkedHashMap<>();
+            for (Customer customer : customerRepository.findAllByIdForUpdate(chunk)) {
+                int index = indexes.remove(customer.getId());
+                CustomerStatusUpdateDto dto = updates.get(index);
+                Customer.CustomerStatus status = Customer.CustomerStatus.valueOf(dto.getStatus().toUpperCase());
+                Customer.CustomerStatus oldStatus = customer.getStatus();
+                boolean wasActive = customer.isCanPerformOperations();
+                if (status != Customer.CustomerStatus.APPROVED) {
+                    // Written by the set-based update below rather than by dirty checking
+                    entityManager.detach(customer);
+                    customer.setUpdatedAt(now);
+                    setBased.computeIfAbsent(status + ":" + dto.isKycCompleted() + ":" + dto.isCanPerformOperations(),
+                            key -> new ArrayList<>()).add(customer);
+                }
+                applyStatusFields(customer, status, dto);
+                publishStatusChange(customer, oldStatus, wasActive);
+                results[index] = new BatchStatusUpdateResultDto(index, customer.getId(), true,
+                        "Customer status updated successfully", status.name(), customer.getAccountNumber());
+            }
+            for (List<Customer> group : setBased.values()) {
+                Customer target = group.get(0);
+                customerRepository.updateStatuses(group.stream().map(Customer::getId).collect(Collectors.toList()),
+                        target.getStatus(), target.isKycCompleted(), target.isCanPerformOperations(), now);
+            }
+            // Writes the chunk's approvals and releases its entities; the row locks are held until commit
+            entityManager.flush();
+            entityManager.clear();
+        }
 
-        customer.setStatus(Customer.CustomerStatus.valueOf(statusUpdateDto.getStatus()));
+        // Ids left over were not returned by any chunk
+        for (Map.Entry<Long, Integer> missing : indexes.entrySet()) {
+            int index = missing.getValue();
+            results[index] = statusFailure(index, updates.get(index), "Customer not found");
+        }
+        return List.of(results);
+    }
+
+    private void applyStatusFields(Customer customer, Customer.CustomerStatus status, CustomerStatusUpdateDto statusUpdateDto) {
+        customer.setStatus(status);
         customer.setKycCompleted(statusUpdateDto.isKycCompleted());
         customer.setCanPerformOperations(statusUpdateDto.isCanPerformOperations());
+        customer.setClaimedBy(null);
+        customer.setClaimExpiresAt(null);
 
-        if (statusUpdateDto.getStatus().equals("APPROVED")) {
+        if (status == Customer.CustomerStatus.APPROVED) {
             customer.setApprovalDate(LocalDate.now());
             customer.setAccountNumber(generateAccountNumber());
         }
+    }
 
-        Customer savedCustomer = customerRepository.save(customer);
-        return convertToResponseDto(savedCustomer);
+    // Must be called while the customer row is locked by the current transaction
+    void publishStatusChange(Customer customer, Customer.CustomerStatus oldStatus, boolean wasActive) {
+        balanceCache.publishOnCommit(customer);
+        TransactionHooks.afterCommit(() -> ledgerEngine.customerUpdated(customer));
+        customerSearchIndex.indexOnCommit(customer);
+        TransactionHooks.afterCommit(() -> auditPipeline.recordStatusChange(customer.getId(), oldStatus.name(),
+                customer.getStatus().name(), true, null));
+        bankStatistics.recordChangeOnCommit(oldStatus, wasActive, customer.getCurrentBalance(),
+                customer.getStatus(), customer.isCanPerformOperations(), customer.getCurrentBalance());
     }
 
+    private BatchStatusUpdateResultDto statusFailure(int index, CustomerStatusUpdateDto dto, String error) {
+        Long customerId = dto != null ? dto.getCustomerId() : null;
+        auditPipeline.recordStatusChange(customerId, null, dto != null ? dto.getStatus() : null, false, error);
+        return new BatchStatusUpdateResultDto(index, customerId, false, error, null, null);
+    }
+
+    // Runs on the customer's ledger shard; the caller holds no connection while it waits
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public TransactionResponseDto performTransaction(Long customerId, TransactionRequestDto transactionDto) {
-        Customer customer = customerRepository.findById(customerId)
-                .orElseThrow(() -> new RuntimeException("Customer not found"));
+        return performTransaction(customerId, transactionDto, null);
+    }
 
-        if (!customer.isCanPerformOperations()) {
-            throw new RuntimeException("Customer is not authorized to perform transactions");
+    // With a key, a retry returns the original response instead of applying the transaction again
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public TransactionResponseDto performTransaction(Long customerId, TransactionRequestDto transactionDto,
+                                                     String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return submitTransaction(customerId, transactionDto, null, null);
         }
+        return idempotencyService.execute(customerId, idempotencyKey, transactionDto,
+                (scopedKey, requestHash) -> submitTransaction(customerId, transactionDto, scopedKey, requestHash),
+                this::convertToTransactionResponseDto);
+    }
 
-        BigDecimal amount = transactionDto.getAmount();
+    private TransactionResponseDto submitTransaction(Long customerId, TransactionRequestDto transactionDto,
+                                                     String idempotencyKey, String requestHash) {
         Transaction.TransactionType type = Transaction.TransactionType.valueOf(transactionDto.getType().toUpperCase());
+        LedgerCommand command = new LedgerCommand(customerId, type, transactionDto.getAmount(),
+                transactionDto.getDescription(), transactionDto.getRecipientAccount(), idempotencyKey, requestHash);
+
+        Transaction transaction;
+        try {
+            transaction = ledgerEngine.execute(command);
+        } catch (RuntimeException e) {
+            auditPipeline.recordTransaction(customerId, type.name(), command.getAmount(), command.getRecipientAccount(),
+                    null, false, e.getMessage());
+            throw e;
+        }
+        auditPipeline.recordTransaction(customerId, type.name(), transaction.getAmount(),
+                transaction.getRecipientAccount(), transaction.getReferenceNumber(), true, null);
+        return convertToTransactionResponseDto(transaction);
+    }
 
-        // Validate transaction
-        if (type == Transaction.TransactionType.DEBIT || type == Transaction.TransactionType.TRANSFER) {
-            if (customer.getCurrentBalance().compareTo(amount) < 0) {
-                throw new RuntimeException("Insufficient balance");
+    // Applies the whole file in one unit of work; invalid or rejected rows are reported, not thrown
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<BatchTransactionResultDto> performTransactions(List<TransactionRequestDto> transactionDtos) {
+        BatchTransactionResultDto[] results = new BatchTransactionResultDto[transactionDtos.size()];
+        List<LedgerCommand> commands = new ArrayList<>();
+        List<Integer> commandIndexes = new ArrayList<>();
+
+        for (int i = 0; i < transactionDtos.size(); i++) {
+            TransactionRequestDto dto = transactionDtos.get(i);
+            String error = validateBatchItem(dto);
+            if (error != null) {
+                results[i] = new BatchTransactionResultDto(i, dto != null ? dto.getCustomerId() : null, false, error, null);
+                continue;
             }
+            Transaction.TransactionType type = Transaction.TransactionType.valueOf(dto.getType().toUpperCase());
+            commands.add(new LedgerCommand(dto.getCustomerId(), type, dto.getAmount(),
+                    dto.getDescription(), dto.getRecipientAccount()));
+            commandIndexes.add(i);
         }
 
-        // Update balance
-        BigDecimal newBalance;
-        if (type == Transaction.TransactionType.CREDIT) {
-            newBalance = customer.getCurrentBalance().add(amount);
-        } else {
-            newBalance = customer.getCurrentBalance().subtract(amount);
+        List<LedgerResult> ledgerResults = ledgerEngine.isJournaled() ? applyThroughEngine(commands) : ledgerWriter.apply(commands);
+        for (int j = 0; j < ledgerResults.size(); j++) {
+            int index = commandIndexes.get(j);
+            LedgerResult result = ledgerResults.get(j);
+            LedgerCommand command = commands.get(j);
+            Long customerId = command.getCustomerId();
+            auditPipeline.recordTransaction(customerId, command.getType().name(), command.getAmount(),
+                    command.getRecipientAccount(),
+                    result.isSuccess() ? result.getTransaction().getReferenceNumber() : null,
+                    result.isSuccess(), result.getError());
+            results[index] = result.isSuccess()
+                    ? new BatchTransactionResultDto(index, customerId, true, "Transaction completed successfully",
+                            convertToTransactionResponseDto(result.getTransaction()))
+                    : new BatchTransactionResultDto(index, customerId, false, result.getError(), null);
         }
+        return List.of(results);
+    }
 
-        customer.setCurrentBalance(newBalance);
-        customerRepository.save(customer);
+    // In journal mode the shards own the balances, so batch rows must be sequenced by them too
+    private List<LedgerResult> applyThroughEngine(List<LedgerCommand> commands) {
+        List<CompletableFuture<Transaction>> futures = new ArrayList<>(commands.size());
+        for (LedgerCommand command : commands) {
+            futures.add(ledgerEngine.submit(command));
+        }
+        List<LedgerResult> results = new ArrayList<>(commands.size());
+        for (CompletableFuture<Transaction> future : futures) {
+            try {
+                results.add(LedgerResult.success(future.join()));
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause();
+                results.add(LedgerResult.failure(Objects.toString(cause.getMessage(), cause.getClass().getSimpleName())));
+            }
+        }
+        return results;
+    }
 
-        // Create transaction record
-        Transaction transaction = new Transaction();
-        transaction.setCustomer(customer);
-        transaction.setTransactionType(type);
-        transaction.setAmount(amount);
-        transaction.setDescription(transactionDto.getDescription());
-        transaction.setRecipientAccount(transactionDto.getRecipientAccount());
-        transaction.setBalanceAfter(newBalance);
-        transaction.setStatus(Transaction.TransactionStatus.COMPLETED);
+    @Transactional(readOnly = true)
+    public TransactionPageDto getCustomerTransactions(Long customerId, String cursor, int limit) {
+        if (!customerRepository.existsById(customerId)) {
+            throw new RuntimeException("Customer not found");
+        }
 
-        Transaction savedTransaction = transactionRepository.save(transaction);
-        return convertToTransactionResponseDto(savedTransaction);
-    }
+        int pageSize = Math.max(1, Math.min(limit, MAX_TRANSACTION_PAGE_SIZE));
+        // Fetch one extra row to learn whether another page follows
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+        List<Transaction> transactions;
+        if (cursor == null || cursor.isBlank()) {
+            transactions = transactionRepository.findLatestForCustomer(customerId, pageable);
+        } else {
+            String[] position = decodeCursor(cursor);
+            transactions = transactionRepository.findForCustomerBefore(customerId,
+                    LocalDateTime.parse(position[0]), Long.valueOf(position[1]), pageable);
+        }
 
-    public List<TransactionResponseDto> getCustomerTransactions(Long customerId) {
-        Customer customer = customerRepository.findById(customerId)
-                .orElseThrow(() -> new RuntimeException("Customer not found"));
+        String nextCursor = null;
+        if (transactions.size() > pageSize) {
+            transactions = transactions.subList(0, pageSize);
+            nextCursor = encodeCursor(transactions.get(pageSize - 1));
+        }
 
-        return transactionRepository.findByCustomerOrderByCreatedAtDesc(customer).stream()
+        List<TransactionResponseDto> page = transactions.stream()
                 .map(this::convertToTransactionResponseDto)
                 .collect(Collectors.toList());
+        return new TransactionPageDto(page, nextCursor, pageSize);
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public BalanceResponseDto getCustomerBalance(Long customerId) {
-        Customer customer = customerRepository.findById(customerId)
-                .orElseThrow(() -> new RuntimeException("Customer not found"));
+        BigDecimal journaled = ledgerEngine.getJournaledBalance(customerId);
+        BalanceCache.Entry cached = balanceCache.get(customerId);
+        if (cached == null) {
+            BalanceView view = customerRepository.findBalanceById(customerId)
+                    .orElseThrow(() -> new RuntimeException("Customer not found"));
+            String accountType = view.getAccountType() != null ? view.getAccountType().name() : null;
+            balanceCache.putLoaded(customerId, view.getCurrentBalance(), view.getAccountNumber(), accountType);
+            return toBalanceResponse(journaled != null ? journaled : view.getCurrentBalance(),
+                    view.getAccountNumber(), accountType);
+        }
+        return toBalanceResponse(journaled != null ? journaled : cached.getCurrentBalance(),
+                cached.getAccountNumber(), cached.getAccountType());
+    }
 
+    // O(1): one balance lookup plus one aggregate row, however long the history is
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public AccountSummaryDto getAccountSummary(Long customerId) {
+        BalanceResponseDto balance = getCustomerBalance(customerId);
+        CustomerAggregate aggregate = customerAggregateRepository.findById(customerId)
+                .orElseGet(() -> new CustomerAggregate(customerId));
+
+        AccountSummaryDto summary = new AccountSummaryDto();
+        summary.setCustomerId(customerId);
+        summary.setCurrentBalance(balance.getCurrentBalance());
+        summary.setTotalCredits(aggregate.getTotalCredits());
+        summary.setTotalDebits(aggregate.getTotalDebits());
+        summary.setTotalTransfers(aggregate.getTotalTransfers());
+        summary.setTransactionCount(aggregate.getTransactionCount());
+        summary.setLastTransactionAt(aggregate.getLastTransactionAt());
+        return summary;
+    }
+
+    private BalanceResponseDto toBalanceResponse(BigDecimal currentBalance, String accountNumber, String accountType) {
         BalanceResponseDto response = new BalanceResponseDto();
-        response.setCurrentBalance(customer.getCurrentBalance());
-        response.setAccountNumber(customer.getAccountNumber());
-        response.setAccountType(customer.getAccountType().name());
+        response.setCurrentBalance(currentBalance);
+        response.setAccountNumber(accountNumber);
+        response.setAccountType(accountType);
         return response;
     }
 
-    private CustomerResponseDto convertToResponseDto(Customer customer) {
+    CustomerResponseDto convertToResponseDto(Customer customer) {
         CustomerResponseDto dto = new CustomerResponseDto();
         dto.setId(customer.getId());
         dto.setFirstName(customer.getFirstName());
@@ -190,7 +471,7 @@ public class CustomerService {
         return dto;
     }
 
-    private TransactionResponseDto convertToTransactionResponseDto(Transaction transaction) {
+    TransactionResponseDto convertToTransactionResponseDto(Transaction transaction) {
         TransactionResponseDto dto = new TransactionResponseDto();
         dto.setId(transaction.getId());
         dto.setTransactionType(transaction.getTransactionType().name());
@@ -204,7 +485,74 @@ public class CustomerService {
         return dto;
     }
 
+    private <E extends Enum<E>> E parseEnum(Class<E> type, String value, String label) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, value.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid " + label + ": " + value);
+        }
+    }
+
+    private String encodeCursor(Transaction transaction) {
+        String position = transaction.getCreatedAt() + "|" + transaction.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodeCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = position.split("\\|");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException();
+            }
+            LocalDateTime.parse(parts[0]);
+            Long.parseLong(parts[1]);
+            return parts;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+
+    private String validateStatusItem(CustomerStatusUpdateDto dto) {
+        if (dto == null) {
+            return "Status update is required";
+        }
+        if (dto.getCustomerId() == null) {
+            return "Customer id is required";
+        }
+        try {
+            if (parseEnum(Customer.CustomerStatus.class, dto.getStatus(), "status") == null) {
+                return "Status is required";
+            }
+        } catch (RuntimeException e) {
+            return e.getMessage();
+        }
+        return null;
+    }
+
+    private String validateBatchItem(TransactionRequestDto dto) {
+        if (dto == null) {
+            return "Transaction is required";
+        }
+        if (dto.getCustomerId() == null) {
+            return "Customer id is required";
+        }
+        Set<ConstraintViolation<TransactionRequestDto>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            return violations.iterator().next().getMessage();
+        }
+        try {
+            Transaction.TransactionType.valueOf(dto.getType().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return "Invalid transaction type: " + dto.getType();
+        }
+        return null;
+    }
+
     private String generateAccountNumber() {
-        return "VX" + System.currentTimeMillis();
+        return "VX" + idGenerator.nextId();
     }
 }
@@ -0,0 +1,7 @@
+package com.vaultx.banking.service;
+
+public class HashingCapacityExceededException extends RuntimeException {
+    public HashingCapacityExceededException(String message) {
+        super(message);
+    }
+}
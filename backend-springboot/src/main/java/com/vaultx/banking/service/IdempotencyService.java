@@ -0,0 +1,205 @@
+package com.vaultx.banking.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vaultx.banking.dto.TransactionRequestDto;
+import com.vaultx.banking.dto.TransactionResponseDto;
+import com.vaultx.banking.entity.IdempotencyRecord;
+import com.vaultx.banking.entity.Transaction;
+import com.vaultx.banking.ledger.JournalRecord;
+import com.vaultx.banking.ledger.LedgerEngine;
+import com.vaultx.banking.repository.IdempotencyRecordRepository;
+import com.vaultx.banking.repository.TransactionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Idempotency-Key handling for transaction submission. A key is scoped to
+ * its customer and remembered for {@code idempotency.ttl}: recent responses
+ * are kept in a bounded in-memory LRU, and every key is also written to
+ * {@code idempotency_keys} by the ledger in the same transaction as the rows
+ * it produced, so a retry after eviction or a restart is still answered
+ * without touching the ledger. In journal mode a key is only written once
+ * its record is projected; until then the ledger answers for it. Concurrent requests with the same key wait
+ * for the one in-flight execution and share its outcome.
+ *
+ * Only successful requests are remembered; a rejected request changed
+ * nothing, so retrying it simply runs it again.
+ */
+@Service
+public class IdempotencyService {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyService.class);
+
+    private static final String KEY_MISMATCH = "Idempotency key was already used for a different request";
+
+    private static class StoredResponse {
+        private final String requestHash;
+        private final TransactionResponseDto response;
+
+        private StoredResponse(String requestHash, TransactionResponseDto response) {
+            this.requestHash = requestHash;
+            this.response = response;
+        }
+
+        private TransactionResponseDto matching(String requestHash) {
+            if (!this.requestHash.equals(requestHash)) {
+                throw new RuntimeException(KEY_MISMATCH);
+            }
+            return response;
+        }
+    }
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private LedgerEngine ledgerEngine;
+
+    private final Cache<String, StoredResponse> responses;
+    private final ConcurrentMap<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+    private final Duration ttl;
+    private final MeterRegistry meterRegistry;
+
+    public IdempotencyService(@Value("${idempotency.maximum-size:10000}") long maximumSize,
+                              @Value("${idempotency.ttl:24h}") Duration ttl,
+                              MeterRegistry meterRegistry) {
+        this.ttl = ttl;
+        this.meterRegistry = meterRegistry;
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, "idempotency");
+    }
+
+    /**
+     * Runs {@code action} at most once per customer and key. The action gets
+     * the scoped key and request hash to hand to the ledger; {@code converter}
+     * rebuilds the response from a stored transaction.
+     */
+    public TransactionResponseDto execute(Long customerId, String key, TransactionRequestDto request,
+                                          BiFunction<String, String, TransactionResponseDto> action,
+                                          Function<Transaction, TransactionResponseDto> converter) {
+        if (key.isBlank() || key.length() > IdempotencyRecord.MAX_KEY_LENGTH) {
+            throw new RuntimeException("Idempotency key must be 1 to " + IdempotencyRecord.MAX_KEY_LENGTH + " characters");
+        }
+        String scopedKey = customerId + ":" + key;
+        String requestHash = requestHash(request);
+
+        StoredResponse stored = responses.getIfPresent(scopedKey);
+        if (stored != null) {
+            recordReplay("cache");
+            return stored.matching(requestHash);
+        }
+
+        CompletableFuture<StoredResponse> execution = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(scopedKey, execution);
+        if (running != null) {
+            recordReplay("in_flight");
+            return join(running).matching(requestHash);
+        }
+        try {
+            // Re-checked now that this thread owns the key: the previous owner may have just finished
+            stored = responses.getIfPresent(scopedKey);
+            if (stored == null) {
+                stored = load(scopedKey, converter);
+                if (stored != null) {
+                    recordReplay("database");
+                } else {
+                    stored = new StoredResponse(requestHash, action.apply(scopedKey, requestHash));
+                }
+                responses.put(scopedKey, stored);
+            }
+            execution.complete(stored);
+        } catch (RuntimeException e) {
+            execution.completeExceptionally(e);
+            throw e;
+        } finally {
+            // Only after the response is cached, so a duplicate never finds neither
+            inFlight.remove(scopedKey, execution);
+        }
+        return stored.matching(requestHash);
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval:PT1H}",
+               initialDelayString = "${idempotency.purge-interval:PT1H}")
+    @Transactional
+    public void purgeExpired() {
+        int purged = idempotencyRecordRepository.deleteCreatedBefore(LocalDateTime.now().minus(ttl));
+        if (purged > 0) {
+            log.debug("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    private StoredResponse load(String scopedKey, Function<Transaction, TransactionResponseDto> converter) {
+        // Checked before the table: the ledger forgets a key only after its projection has committed
+        JournalRecord unprojected = ledgerEngine.getUnprojectedRecord(scopedKey);
+        if (unprojected != null) {
+            return new StoredResponse(unprojected.getRequestHash(), converter.apply(unprojected.toTransaction(null)));
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minus(ttl);
+        return idempotencyRecordRepository.findById(scopedKey)
+                .filter(record -> record.getCreatedAt().isAfter(cutoff))
+                .flatMap(record -> transactionRepository.findByReferenceNumber(record.getReferenceNumber())
+                        .map(transaction -> new StoredResponse(record.getRequestHash(), converter.apply(transaction))))
+                .orElse(null);
+    }
+
+    private void recordReplay(String source) {
+        Counter.builder("vaultx.idempotency.replayed")
+                .description("Requests answered from an earlier execution with the same Idempotency-Key")
+                .tag("source", source)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static StoredResponse join(CompletableFuture<StoredResponse> execution) {
+        try {
+            return execution.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    // Identifies the request body, so a key reused for a different request is refused rather than replayed
+    private static String requestHash(TransactionRequestDto request) {
+        String canonical = request.getType().toUpperCase() + "|"
+                + request.getAmount().stripTrailingZeros().toPlainString() + "|"
+                + request.getRecipientAccount() + "|" + request.getDescription();
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
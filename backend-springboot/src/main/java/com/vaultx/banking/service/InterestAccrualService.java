@@ -0,0 +1,256 @@
+package com.vaultx.banking.service;
+
+import com.vaultx.banking.entity.Customer;
+import com.vaultx.banking.entity.InterestAccrualChunk;
+import com.vaultx.banking.entity.InterestAccrualRun;
+import com.vaultx.banking.entity.Transaction;
+import com.vaultx.banking.ledger.LedgerCommand;
+import com.vaultx.banking.ledger.LedgerEngine;
+import com.vaultx.banking.ledger.LedgerResult;
+import com.vaultx.banking.ledger.LedgerWriter;
+import com.vaultx.banking.repository.CustomerRepository;
+import com.vaultx.banking.repository.InterestAccrualChunkRepository;
+import com.vaultx.banking.repository.InterestAccrualRunRepository;
+import com.vaultx.banking.util.Money;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Credits interest to approved SAVINGS accounts, once per accrual date.
+ * The id range of those accounts is split into chunks of
+ * {@code interest.chunk-size} ids. A fork-join pool works through the
+ * chunks in parallel, each in its own transaction: lock the chunk's
+ * accounts, compute interest on the locked balances in minor units, apply
+ * the CREDITs through the ledger writer and record the chunk as done. A run
+ * that stops part way resumes with the chunks not yet recorded.
+ */
+@Service
+public class InterestAccrualService {
+
+    private static final Logger log = LoggerFactory.getLogger(InterestAccrualService.class);
+
+    private static final long BASIS_POINTS = 10_000;
+    private static final long DAYS_PER_YEAR = 365;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private InterestAccrualRunRepository interestAccrualRunRepository;
+
+    @Autowired
+    private InterestAccrualChunkRepository interestAccrualChunkRepository;
+
+    @Autowired
+    private LedgerWriter ledgerWriter;
+
+    @Autowired
+    private LedgerEngine ledgerEngine;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${interest.annual-rate-bps:350}")
+    private int annualRateBps;
+
+    @Value("${interest.period-days:30}")
+    private int periodDays;
+
+    @Value("${interest.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${interest.parallelism:4}")
+    private int parallelism;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Scheduled(cron = "${interest.cron:-}")
+    public void scheduledAccrual() {
+        accrue(LocalDate.now());
+    }
+
+    public Map<String, Object> accrue(LocalDate accrualDate) {
+        // In journal mode the balances live in the shards, and credits are durable before the tables show them
+        if (ledgerEngine.isJournaled()) {
+            throw new RuntimeException("Interest accrual is not available while the ledger journal is enabled");
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new RuntimeException("Interest accrual is already running");
+        }
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, parallelism), forkJoinPool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+            thread.setName("interest-accrual-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+        try {
+            InterestAccrualRun run = transactionTemplate.execute(status -> startOrResume(accrualDate));
+            Set<Integer> finished = new HashSet<>(interestAccrualChunkRepository.findChunkIndexes(accrualDate));
+
+            long started = System.nanoTime();
+            long[] totals = pool.invoke(new ChunkTask(run, finished, 0, run.getChunkCount()));
+            long elapsedNanos = System.nanoTime() - started;
+            InterestAccrualRun completed = transactionTemplate.execute(status -> complete(accrualDate));
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("accrualDate", accrualDate.toString());
+            report.put("annualRateBps", run.getAnnualRateBps());
+            report.put("periodDays", run.getPeriodDays());
+            report.put("chunks", run.getChunkCount());
+            report.put("chunksResumed", finished.size());
+            report.put("accountsCredited", totals[0]);
+            report.put("interestCredited", Money.fromMinor(totals[1]));
+            report.put("runAccountsCredited", completed.getAccountsCredited());
+            report.put("runInterestCredited", completed.getInterestCredited());
+            report.put("durationMillis", elapsedNanos / 1_000_000);
+            report.put("accountsPerSecond", elapsedNanos > 0 ? totals[0] * 1_000_000_000L / elapsedNanos : 0);
+            log.info("Interest accrual finished: {}", report);
+            return report;
+        } finally {
+            pool.shutdown();
+            running.set(false);
+        }
+    }
+
+    private InterestAccrualRun startOrResume(LocalDate accrualDate) {
+        InterestAccrualRun existing = interestAccrualRunRepository.findById(accrualDate).orElse(null);
+        if (existing != null) {
+            if (existing.getStatus() == InterestAccrualRun.RunStatus.COMPLETED) {
+                throw new RuntimeException("Interest for " + accrualDate + " has already been accrued");
+            }
+            log.info("Resuming interest accrual for {}", accrualDate);
+            return existing;
+        }
+        if (annualRateBps < 0 || periodDays <= 0 || chunkSize <= 0) {
+            throw new RuntimeException("Interest rate, period and chunk size must be positive");
+        }
+
+        Object[] range = customerRepository.findIdRange(Customer.AccountType.SAVINGS, Customer.CustomerStatus.APPROVED).get(0);
+        InterestAccrualRun run = new InterestAccrualRun();
+        run.setAccrualDate(accrualDate);
+        run.setAnnualRateBps(annualRateBps);
+        run.setPeriodDays(periodDays);
+        run.setChunkSize(chunkSize);
+        // No accounts leaves an empty range and no chunks
+        run.setFirstCustomerId(range[0] != null ? (Long) range[0] : 1L);
+        run.setLastCustomerId(range[1] != null ? (Long) range[1] : 0L);
+        run.setStatus(InterestAccrualRun.RunStatus.RUNNING);
+        run.setStartedAt(LocalDateTime.now());
+        return interestAccrualRunRepository.save(run);
+    }
+
+    private InterestAccrualRun complete(LocalDate accrualDate) {
+        InterestAccrualRun run = interestAccrualRunRepository.findById(accrualDate)
+                .orElseThrow(() -> new RuntimeException("Interest accrual run not found"));
+        run.setAccountsCredited(interestAccrualChunkRepository.sumAccountsCredited(accrualDate));
+        run.setInterestCredited(interestAccrualChunkRepository.sumInterestCredited(accrualDate));
+        run.setStatus(InterestAccrualRun.RunStatus.COMPLETED);
+        run.setCompletedAt(LocalDateTime.now());
+        return run;
+    }
+
+    // Splits the chunk range in halves down to single chunks; each leaf is one transaction
+    private class ChunkTask extends RecursiveTask<long[]> {
+        private final InterestAccrualRun run;
+        private final Set<Integer> finished;
+        private final int from;
+        private final int to;
+
+        private ChunkTask(InterestAccrualRun run, Set<Integer> finished, int from, int to) {
+            this.run = run;
+            this.finished = finished;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (to - from <= 1) {
+                return to == from || finished.contains(from) ? new long[2] : accrueChunk(run, from);
+            }
+            int middle = (from + to) >>> 1;
+            ChunkTask left = new ChunkTask(run, finished, from, middle);
+            left.fork();
+            long[] right = new ChunkTask(run, finished, middle, to).compute();
+            long[] leftTotals = left.join();
+            return new long[] {leftTotals[0] + right[0], leftTotals[1] + right[1]};
+        }
+    }
+
+    // Accounts credited and interest in minor units
+    private long[] accrueChunk(InterestAccrualRun run, int chunkIndex) {
+        return transactionTemplate.execute(status -> {
+            long fromId = run.getFirstCustomerId() + (long) chunkIndex * run.getChunkSize();
+            long toId = Math.min(fromId + run.getChunkSize() - 1, run.getLastCustomerId());
+            String description = "Interest for " + run.getAccrualDate();
+
+            List<LedgerCommand> commands = new ArrayList<>();
+            for (Customer customer : customerRepository.findInIdRangeForUpdate(fromId, toId,
+                    Customer.AccountType.SAVINGS, Customer.CustomerStatus.APPROVED)) {
+                long interest = interestMinor(Money.toMinor(customer.getCurrentBalance()), run.getAnnualRateBps(),
+                        run.getPeriodDays());
+                if (interest > 0) {
+                    commands.add(new LedgerCommand(customer.getId(), Transaction.TransactionType.CREDIT,
+                            Money.fromMinor(interest), description, null));
+                }
+            }
+
+            // Joins this transaction, so the credits and the chunk record commit or roll back together
+            int credited = 0;
+            long interestMinor = 0;
+            List<LedgerResult> results = ledgerWriter.apply(commands);
+            for (int i = 0; i < results.size(); i++) {
+                if (results.get(i).isSuccess()) {
+                    credited++;
+                    interestMinor += Money.toMinor(commands.get(i).getAmount());
+                }
+            }
+            interestAccrualChunkRepository.save(new InterestAccrualChunk(run.getAccrualDate(), chunkIndex, credited,
+                    Money.fromMinor(interestMinor), LocalDateTime.now()));
+            return new long[] {credited, interestMinor};
+        });
+    }
+
+    // balance * rate * days / 365 in minor units, rounded half-even, without floating point
+    static long interestMinor(long balanceMinor, int annualRateBps, int days) {
+        if (balanceMinor <= 0) {
+            return 0;
+        }
+        long factor = (long) annualRateBps * days;
+        long denominator = BASIS_POINTS * DAYS_PER_YEAR;
+        long numerator;
+        try {
+            numerator = Math.multiplyExact(balanceMinor, factor);
+        } catch (ArithmeticException e) {
+            return new BigDecimal(BigInteger.valueOf(balanceMinor).multiply(BigInteger.valueOf(factor)))
+                    .divide(BigDecimal.valueOf(denominator), 0, RoundingMode.HALF_EVEN)
+                    .longValueExact();
+        }
+        long quotient = numerator / denominator;
+        long twiceRemainder = 2 * (numerator % denominator);
+        if (twiceRemainder > denominator || (twiceRemainder == denominator && (quotient & 1) == 1)) {
+            quotient++;
+        }
+        return quotient;
+    }
+}
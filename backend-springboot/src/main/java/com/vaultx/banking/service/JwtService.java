@@ -0,0 +1,101 @@
+package com.vaultx.banking.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+/**
+ * Issues and verifies the customer access tokens (HS256 JWTs whose subject
+ * is the customer id). Verification needs no database lookup. Tokens that
+ * have already been verified are remembered in a small bounded cache keyed by
+ * the whole token, so a client reusing its token skips the signature check
+ * and JSON parse; only the expiry is checked again.
+ */
+@Service
+public class JwtService {
+
+    public static class VerifiedToken {
+        private final Long customerId;
+        private final long expiresAtMillis;
+
+        VerifiedToken(Long customerId, long expiresAtMillis) {
+            this.customerId = customerId;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+        public Long getCustomerId() { return customerId; }
+
+        public long getExpiresAtMillis() { return expiresAtMillis; }
+    }
+
+    private static final String INVALID_TOKEN = "Invalid or expired token";
+
+    private final SecretKey key;
+    private final JwtParser parser;
+    private final long expirationMillis;
+    private final Cache<String, VerifiedToken> verified;
+
+    public JwtService(@Value("${jwt.secret}") String secret,
+                      @Value("${jwt.expiration:86400000}") long expirationMillis,
+                      @Value("${jwt.cache.maximum-size:10000}") long cacheSize,
+                      MeterRegistry meterRegistry) {
+        this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+        this.expirationMillis = expirationMillis;
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verified, "verified-tokens");
+    }
+
+    public String issue(Long customerId) {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .setSubject(customerId.toString())
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + expirationMillis))
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    public long getExpirationMillis() {
+        return expirationMillis;
+    }
+
+    public VerifiedToken verify(String token) {
+        VerifiedToken cached = verified.getIfPresent(token);
+        if (cached == null) {
+            cached = parse(token);
+            verified.put(token, cached);
+        }
+        if (cached.expiresAtMillis <= System.currentTimeMillis()) {
+            verified.invalidate(token);
+            throw new RuntimeException(INVALID_TOKEN);
+        }
+        return cached;
+    }
+
+    // Full signature check and parse, bypassing the cache
+    public VerifiedToken parse(String token) {
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            return new VerifiedToken(Long.valueOf(claims.getSubject()), claims.getExpiration().getTime());
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new RuntimeException(INVALID_TOKEN);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.vaultx.banking.service;
+
+import com.vaultx.banking.dto.CustomerResponseDto;
+import com.vaultx.banking.dto.KycClaimResponseDto;
+import com.vaultx.banking.entity.Customer;
+import com.vaultx.banking.repository.CustomerRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * KYC work queue for clerks. A claim takes the oldest submitted customers
+ * that no one else holds, moves them to KYC_IN_PROGRESS and leases them to
+ * the clerk for {@code kyc.queue.lease-duration}; any status change ends
+ * the lease. Leases that run out are swept back into the queue.
+ *
+ * Claims lock the head of the queue with SKIP LOCKED, so concurrent clerks
+ * take different rows instead of queueing behind each other, and every
+ * statement touches at most a claim's worth of rows whatever the backlog.
+ * The claim itself is a conditional update, which keeps it exclusive on
+ * databases that only offer a blocking FOR UPDATE.
+ */
+@Service
+public class KycQueueService {
+
+    private static final Logger log = LoggerFactory.getLogger(KycQueueService.class);
+
+    public static final int MAX_CLERK_LENGTH = 100;
+    // Rounds a claim retries after losing its rows to a concurrent claim
+    private static final int CLAIM_ATTEMPTS = 3;
+    private static final int RECLAIM_CHUNK_SIZE = 500;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final Duration leaseDuration;
+    private final int maxClaim;
+    private final Counter claimed;
+    private final Counter reclaimed;
+
+    public KycQueueService(@Value("${kyc.queue.lease-duration:PT15M}") Duration leaseDuration,
+                           @Value("${kyc.queue.max-claim:50}") int maxClaim,
+                           MeterRegistry meterRegistry) {
+        this.leaseDuration = leaseDuration;
+        this.maxClaim = maxClaim;
+        this.claimed = Counter.builder("vaultx.kyc.claimed")
+                .description("Customers claimed from the KYC queue")
+                .register(meterRegistry);
+        this.reclaimed = Counter.builder("vaultx.kyc.reclaimed")
+                .description("Customers returned to the KYC queue after their lease expired")
+                .register(meterRegistry);
+    }
+
+    @Transactional
+    public KycClaimResponseDto claim(String clerk, int count) {
+        validateClerk(clerk);
+        int wanted = Math.max(1, Math.min(count, maxClaim));
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plus(leaseDuration);
+
+        List<CustomerResponseDto> customers = new ArrayList<>(wanted);
+        for (int attempt = 0; attempt < CLAIM_ATTEMPTS && customers.size() < wanted; attempt++) {
+            List<Long> ids = customerRepository.findClaimable(Customer.CustomerStatus.DOCUMENTS_SUBMITTED,
+                            PageRequest.of(0, wanted - customers.size()))
+                    .stream().map(Customer::getId).collect(Collectors.toList());
+            if (ids.isEmpty()) {
+                break;
+            }
+            // The update bypasses the persistence context, so drop the rows just read before reading them back
+            entityManager.clear();
+            if (customerRepository.claimCustomers(ids, Customer.CustomerStatus.DOCUMENTS_SUBMITTED,
+                    Customer.CustomerStatus.KYC_IN_PROGRESS, clerk, expiresAt, now) == 0) {
+                continue;
+            }
+            for (Customer customer : customerRepository.findByIdInAndStatusAndClaimedBy(ids,
+                    Customer.CustomerStatus.KYC_IN_PROGRESS, clerk)) {
+                customerService.publishStatusChange(customer, Customer.CustomerStatus.DOCUMENTS_SUBMITTED,
+                        customer.isCanPerformOperations());
+                customers.add(customerService.convertToResponseDto(customer));
+            }
+        }
+        claimed.increment(customers.size());
+        return new KycClaimResponseDto(clerk, expiresAt, customers);
+    }
+
+    // Extends every lease the clerk still holds; returns how many
+    @Transactional
+    public int renew(String clerk) {
+        validateClerk(clerk);
+        return customerRepository.renewClaims(clerk, Customer.CustomerStatus.KYC_IN_PROGRESS,
+                LocalDateTime.now().plus(leaseDuration));
+    }
+
+    @Scheduled(fixedDelayString = "${kyc.queue.reclaim-interval:PT30S}",
+               initialDelayString = "${kyc.queue.reclaim-interval:PT30S}")
+    public void reclaimExpired() {
+        int total = 0;
+        int released;
+        // A chunk per transaction, so a large sweep never holds many row locks at once
+        do {
+            Integer chunk = transactionTemplate.execute(status -> reclaimChunk(LocalDateTime.now()));
+            released = chunk != null ? chunk : 0;
+            total += released;
+        } while (released > 0);
+        if (total > 0) {
+            reclaimed.increment(total);
+            log.info("Returned {} customers with expired KYC leases to the queue", total);
+        }
+    }
+
+    private int reclaimChunk(LocalDateTime now) {
+        List<Long> ids = customerRepository.findExpiredClaimIds(Customer.CustomerStatus.KYC_IN_PROGRESS, now,
+                PageRequest.of(0, RECLAIM_CHUNK_SIZE));
+        if (ids.isEmpty() || customerRepository.releaseExpiredClaims(ids, Customer.CustomerStatus.KYC_IN_PROGRESS,
+                Customer.CustomerStatus.DOCUMENTS_SUBMITTED, now) == 0) {
+            return 0;
+        }
+        List<Customer> customers = customerRepository.findByIdInAndStatusAndClaimedByIsNull(ids,
+                Customer.CustomerStatus.DOCUMENTS_SUBMITTED);
+        for (Customer customer : customers) {
+            customerService.publishStatusChange(customer, Customer.CustomerStatus.KYC_IN_PROGRESS,
+                    customer.isCanPerformOperations());
+        }
+        return customers.size();
+    }
+
+    private static void validateClerk(String clerk) {
+        if (clerk == null || clerk.isBlank()) {
+            throw new RuntimeException("Clerk is required");
+        }
+        if (clerk.length() > MAX_CLERK_LENGTH) {
+            throw new RuntimeException("Clerk must be at most " + MAX_CLERK_LENGTH + " characters");
+        }
+    }
+}
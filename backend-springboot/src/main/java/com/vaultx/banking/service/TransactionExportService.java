@@ -0,0 +1,139 @@
+package com.vaultx.banking.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vaultx.banking.entity.Transaction;
+import com.vaultx.banking.repository.CustomerRepository;
+import com.vaultx.banking.repository.TransactionRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@Transactional(readOnly = true)
+public class TransactionExportService {
+
+    public enum ExportFormat {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        ExportFormat(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() { return contentType; }
+
+        public String getExtension() { return extension; }
+    }
+
+    private static final String CSV_HEADER =
+            "id,reference_number,transaction_type,amount,balance_after,status,description,recipient_account,created_at";
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public ExportFormat resolveFormat(Long customerId, String format) {
+        if (!customerRepository.existsById(customerId)) {
+            throw new RuntimeException("Customer not found");
+        }
+        try {
+            return ExportFormat.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Unsupported export format: " + format);
+        }
+    }
+
+    // Rows are written and detached one at a time, so memory stays flat regardless of history length
+    public void export(Long customerId, ExportFormat format, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), 64 * 1024);
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        try (Stream<Transaction> transactions = transactionRepository.streamByCustomerId(customerId)) {
+            Iterator<Transaction> iterator = transactions.iterator();
+            while (iterator.hasNext()) {
+                Transaction transaction = iterator.next();
+                if (format == ExportFormat.CSV) {
+                    writeCsvRow(writer, transaction);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(customerService.convertToTransactionResponseDto(transaction)));
+                    writer.write('\n');
+                }
+                entityManager.detach(transaction);
+            }
+        }
+        writer.flush();
+    }
+
+    private void writeCsvRow(Writer writer, Transaction transaction) throws IOException {
+        writer.write(String.valueOf(transaction.getId()));
+        writer.write(',');
+        writeCsvText(writer, transaction.getReferenceNumber());
+        writer.write(',');
+        writeCsvField(writer, transaction.getTransactionType() != null ? transaction.getTransactionType().name() : null);
+        writer.write(',');
+        writeCsvField(writer, transaction.getAmount() != null ? transaction.getAmount().toPlainString() : null);
+        writer.write(',');
+        writeCsvField(writer, transaction.getBalanceAfter() != null ? transaction.getBalanceAfter().toPlainString() : null);
+        writer.write(',');
+        writeCsvField(writer, transaction.getStatus() != null ? transaction.getStatus().name() : null);
+        writer.write(',');
+        writeCsvText(writer, transaction.getDescription());
+        writer.write(',');
+        writeCsvText(writer, transaction.getRecipientAccount());
+        writer.write(',');
+        writeCsvField(writer, transaction.getCreatedAt() != null ? transaction.getCreatedAt().toString() : null);
+        writer.write('\n');
+    }
+
+    // Free text a spreadsheet would evaluate as a formula is prefixed with a quote to keep it literal
+    private void writeCsvText(Writer writer, String value) throws IOException {
+        if (value != null && !value.isEmpty() && "=+-@\t\r".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        writeCsvField(writer, value);
+    }
+
+    private void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,23 @@
+package com.vaultx.banking.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+// Fixed-point money: amounts as a long count of minor units (paise), matching the scale-2 columns
+public final class Money {
+
+    public static final int SCALE = 2;
+
+    private Money() {}
+
+    public static long toMinor(BigDecimal amount) {
+        if (amount == null) {
+            return 0L;
+        }
+        return amount.setScale(SCALE, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal fromMinor(long minor) {
+        return BigDecimal.valueOf(minor, SCALE);
+    }
+}
@@ -0,0 +1,59 @@
+package com.vaultx.banking.util;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free, time-ordered 64-bit ids: 41 bits of milliseconds since 2024-01-01,
+ * 10 bits of node id and a 12-bit per-millisecond sequence.
+ *
+ * The generator keeps a logical clock that never moves backwards. If the wall
+ * clock rolls back, or a millisecond's 4096 sequence values run out, ids keep
+ * coming from the logical clock's next slot instead of repeating, and the
+ * wall clock catches up again on its own.
+ */
+public class SnowflakeIdGenerator {
+
+    public static final long EPOCH_MILLIS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long nodeBits;
+    // (logical millis << SEQUENCE_BITS) | sequence of the last id handed out
+    private final AtomicLong state = new AtomicLong();
+
+    public SnowflakeIdGenerator(long nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.nodeBits = nodeId << SEQUENCE_BITS;
+    }
+
+    public long nextId() {
+        while (true) {
+            long current = state.get();
+            long now = currentMillis();
+            long next;
+            if (now > current >>> SEQUENCE_BITS) {
+                next = now << SEQUENCE_BITS;
+            } else {
+                // Same millisecond, or the clock went backwards: stay on the logical clock
+                next = current + 1;
+            }
+            if (state.compareAndSet(current, next)) {
+                return ((next >>> SEQUENCE_BITS) << (NODE_BITS + SEQUENCE_BITS)) | nodeBits | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    public static long timestampOf(long id) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS;
+    }
+
+    protected long currentMillis() {
+        return System.currentTimeMillis() - EPOCH_MILLIS;
+    }
+}
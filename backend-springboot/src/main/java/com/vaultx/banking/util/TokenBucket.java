@@ -0,0 +1,42 @@
+package com.vaultx.banking.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket that refills at {@code permitsPerSecond} up to
+ * {@code burst} tokens. The whole state is one long, the time at which the
+ * bucket would next be full again (the generic cell rate algorithm form of a
+ * token bucket), so taking a token is a single compare-and-set and an idle
+ * bucket needs no refill work.
+ */
+public class TokenBucket {
+
+    private final long nanosPerPermit;
+    private final long burstNanos;
+    // Theoretical time (System.nanoTime) at which every token taken so far has been refilled
+    private final AtomicLong fullAt;
+
+    public TokenBucket(double permitsPerSecond, int burst, long nowNanos) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate and burst must be positive: " + permitsPerSecond + ", " + burst);
+        }
+        this.nanosPerPermit = Math.max(1, (long) (1_000_000_000L / permitsPerSecond));
+        this.burstNanos = nanosPerPermit * burst;
+        this.fullAt = new AtomicLong(nowNanos);
+    }
+
+    // Takes one token: 0 if granted, otherwise how many nanoseconds until one is available
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, nowNanos) + nanosPerPermit;
+            long overdraft = next - nowNanos - burstNanos;
+            if (overdraft > 0) {
+                return overdraft;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.vaultx.banking.ledger;
+
+import com.vaultx.banking.entity.JournalCheckpoint;
+import com.vaultx.banking.entity.Transaction;
+import com.vaultx.banking.repository.JournalCheckpointRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JournalProjectorTest {
+
+    @TempDir
+    Path dir;
+
+    private final List<LedgerJournal> opened = new ArrayList<>();
+    private final List<JournalProjector> started = new ArrayList<>();
+
+    @AfterEach
+    void stop() throws Exception {
+        for (JournalProjector projector : started) {
+            projector.stop();
+        }
+        for (LedgerJournal journal : opened) {
+            journal.close();
+        }
+    }
+
+    @Test
+    void startupReplaysOnlyRecordsAfterTheCheckpoint() throws Exception {
+        LedgerJournal first = journal();
+        first.open(0L);
+        List<Long> ends = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            first.append(List.of(record(i))).get(5, TimeUnit.SECONDS);
+            ends.add(first.pollDurable().getEndOffset());
+        }
+        first.close();
+
+        RecordingWriter writer = new RecordingWriter(0);
+        JournalProjector projector = projector(journal(), writer, checkpointAt(ends.get(3)), 4);
+        projector.start();
+
+        // The backlog is projected before start() returns, in batches, ending at the last record
+        assertEquals(references(4, 10), writer.references());
+        assertEquals(List.of(4, 2), writer.batchSizes);
+        assertEquals(ends.get(9), writer.lastEndOffset);
+    }
+
+    @Test
+    void liveRecordsAreProjectedInOrderAfterAFailedBatch() throws Exception {
+        LedgerJournal journal = journal();
+        // The first live batch fails once and must be retried before anything after it
+        RecordingWriter writer = new RecordingWriter(1);
+        JournalProjector projector = projector(journal, writer, checkpointAt(null), 500);
+        projector.start();
+
+        for (int i = 0; i < 20; i++) {
+            journal.append(List.of(record(i))).get(5, TimeUnit.SECONDS);
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (writer.references().size() < 20 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(references(0, 20), writer.references());
+        assertTrue(writer.attempts.get() > writer.batchSizes.size());
+    }
+
+    private LedgerJournal journal() {
+        LedgerJournal journal = new LedgerJournal();
+        ReflectionTestUtils.setField(journal, "enabled", true);
+        ReflectionTestUtils.setField(journal, "directory", dir.toString());
+        ReflectionTestUtils.setField(journal, "segmentSize", DataSize.ofKilobytes(64));
+        ReflectionTestUtils.setField(journal, "maxGroupRecords", 512);
+        ReflectionTestUtils.setField(journal, "maxGroupWait", Duration.ofMillis(1));
+        opened.add(journal);
+        return journal;
+    }
+
+    private JournalProjector projector(LedgerJournal journal, LedgerWriter writer,
+                                       JournalCheckpointRepository checkpoints, int batchSize) {
+        JournalProjector projector = new JournalProjector();
+        ReflectionTestUtils.setField(projector, "journal", journal);
+        ReflectionTestUtils.setField(projector, "ledgerWriter", writer);
+        ReflectionTestUtils.setField(projector, "journaledLedger", new JournaledLedger());
+        ReflectionTestUtils.setField(projector, "journalCheckpointRepository", checkpoints);
+        ReflectionTestUtils.setField(projector, "batchSize", batchSize);
+        started.add(projector);
+        return projector;
+    }
+
+    // Only the two calls the projector makes; a null offset is a database that never projected
+    private static JournalCheckpointRepository checkpointAt(Long offset) {
+        JournalCheckpoint[] checkpoint = new JournalCheckpoint[1];
+        if (offset != null) {
+            checkpoint[0] = new JournalCheckpoint();
+            checkpoint[0].setProjectedOffset(offset);
+        }
+        return (JournalCheckpointRepository) Proxy.newProxyInstance(JournalProjectorTest.class.getClassLoader(),
+                new Class<?>[]{JournalCheckpointRepository.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "findById":
+                            return Optional.ofNullable(checkpoint[0]);
+                        case "save":
+                            checkpoint[0] = (JournalCheckpoint) args[0];
+                            return args[0];
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    private static JournalRecord record(int i) {
+        return new JournalRecord(1L, Transaction.TransactionType.CREDIT, BigDecimal.ONE, BigDecimal.TEN,
+                "Deposit", null, reference(i), LocalDateTime.of(2024, 1, 1, 0, 0));
+    }
+
+    private static String reference(int i) {
+        return String.format("TXN%06d", i);
+    }
+
+    private static List<String> references(int from, int to) {
+        List<String> references = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            references.add(reference(i));
+        }
+        return references;
+    }
+
+    // Stands in for the database: remembers what was projected, optionally failing the first calls
+    private static class RecordingWriter extends LedgerWriter {
+        private final List<JournalRecord> projected = new ArrayList<>();
+        private final List<Integer> batchSizes = new ArrayList<>();
+        private final AtomicInteger attempts = new AtomicInteger();
+        private final int failures;
+        private volatile long lastEndOffset;
+
+        RecordingWriter(int failures) {
+            this.failures = failures;
+        }
+
+        @Override
+        public synchronized void project(List<JournalRecord> records, long endOffset) {
+            if (attempts.incrementAndGet() <= failures) {
+                throw new IllegalStateException("database unavailable");
+            }
+            projected.addAll(records);
+            batchSizes.add(records.size());
+            lastEndOffset = endOffset;
+        }
+
+        synchronized List<String> references() {
+            List<String> references = new ArrayList<>();
+            for (JournalRecord record : projected) {
+                references.add(record.getReferenceNumber());
+            }
+            return references;
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package com.vaultx.banking.ledger;
+
+import com.vaultx.banking.entity.Transaction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LedgerJournalTest {
+
+    // Small enough that a few dozen records span several segments
+    private static final int SEGMENT_BYTES = 4096;
+    private static final int HEADER_BYTES = 8;
+
+    @TempDir
+    Path dir;
+
+    private final List<LedgerJournal> opened = new ArrayList<>();
+
+    @AfterEach
+    void closeJournals() throws Exception {
+        for (LedgerJournal journal : opened) {
+            journal.close();
+        }
+    }
+
+    @Test
+    void reopenReplaysEveryAcknowledgedRecordInOrder() throws Exception {
+        LedgerJournal journal = open(0L);
+        appendEach(journal, 0, 3);
+        journal.append(List.of(record(3), record(4), record(5))).get(5, TimeUnit.SECONDS);
+        journal.close();
+
+        List<LedgerJournal.JournalEntry> replayed = replay(0L);
+        assertEquals(references(0, 6), referencesOf(replayed));
+        for (int i = 1; i < replayed.size(); i++) {
+            assertTrue(replayed.get(i).getEndOffset() > replayed.get(i - 1).getEndOffset());
+        }
+        assertEquals(Transaction.TransactionType.CREDIT, replayed.get(0).getRecord().getType());
+        assertEquals(0, new BigDecimal("10.00").compareTo(replayed.get(0).getRecord().getBalanceAfter()));
+    }
+
+    @Test
+    void reopenResumesAfterTheProjectedOffset() throws Exception {
+        LedgerJournal journal = open(0L);
+        int total = 3 * recordsPerSegment() + 5;
+        appendEach(journal, 0, total);
+        List<LedgerJournal.JournalEntry> durable = drain(journal);
+        journal.close();
+        assertTrue(segmentCount() >= 4);
+
+        // A checkpoint inside the third segment: everything up to and including record `projected` is in the database
+        int projected = 2 * recordsPerSegment() + 2;
+        long checkpoint = durable.get(projected).getEndOffset();
+        LedgerJournal reopened = journal();
+        List<LedgerJournal.JournalEntry> backlog = reopened.open(checkpoint);
+        assertEquals(references(projected + 1, total), referencesOf(backlog));
+        assertEquals(durable.get(total - 1).getEndOffset(), backlog.get(backlog.size() - 1).getEndOffset());
+
+        // The two segments the checkpoint has passed are no longer needed
+        int before = segmentCount();
+        reopened.release(checkpoint);
+        assertEquals(before - 2, segmentCount());
+        reopened.close();
+        assertEquals(references(projected + 1, total), referencesOf(replay(checkpoint)));
+    }
+
+    @Test
+    void reopenDiscardsARecordWithABadChecksum() throws Exception {
+        LedgerJournal journal = open(0L);
+        appendEach(journal, 0, 5);
+        List<LedgerJournal.JournalEntry> durable = drain(journal);
+        journal.close();
+
+        // Flip one payload byte of the last record
+        long lastStart = durable.get(3).getEndOffset();
+        try (RandomAccessFile file = new RandomAccessFile(onlySegment().toFile(), "rw")) {
+            file.seek(lastStart + HEADER_BYTES + 10);
+            int value = file.read();
+            file.seek(lastStart + HEADER_BYTES + 10);
+            file.write(value ^ 0xFF);
+        }
+
+        assertRecoversTo(4);
+    }
+
+    @Test
+    void reopenDiscardsATornRecord() throws Exception {
+        LedgerJournal journal = open(0L);
+        appendEach(journal, 0, 5);
+        List<LedgerJournal.JournalEntry> durable = drain(journal);
+        journal.close();
+
+        // A header claiming more payload than was written before the crash
+        long tail = durable.get(4).getEndOffset();
+        try (RandomAccessFile file = new RandomAccessFile(onlySegment().toFile(), "rw")) {
+            file.seek(tail);
+            file.writeInt(1_000);
+            file.writeInt(0x12345678);
+            file.write(new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+        }
+
+        assertRecoversTo(5);
+    }
+
+    @Test
+    void corruptSealedSegmentRefusesToOpen() throws Exception {
+        LedgerJournal journal = open(0L);
+        appendEach(journal, 0, recordsPerSegment() + 3);
+        journal.close();
+
+        Path sealed = segments().get(0);
+        try (RandomAccessFile file = new RandomAccessFile(sealed.toFile(), "rw")) {
+            file.seek(HEADER_BYTES + 10);
+            int value = file.read();
+            file.seek(HEADER_BYTES + 10);
+            file.write(value ^ 0xFF);
+        }
+
+        LedgerJournal reopened = new LedgerJournal();
+        configure(reopened);
+        assertThrows(IOException.class, () -> reopened.open(0L));
+    }
+
+    @Test
+    void groupCommitAcknowledgesAppendsForcedBeforeAFailedRoll() throws Exception {
+        LedgerJournal journal = journal();
+        // One group for every append below, so the failure lands in the middle of it
+        ReflectionTestUtils.setField(journal, "maxGroupWait", Duration.ofMillis(300));
+        journal.open(0L);
+
+        // A directory where the third segment's file belongs makes the second roll fail
+        int fit = recordsPerSegment();
+        Path blocker = Files.createDirectories(dir.resolve(String.format("%020d.journal", 2L * fit * recordBytes())));
+        int total = 2 * fit + 20;
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < total; i++) {
+            futures.add(journal.append(List.of(record(i))));
+        }
+
+        List<String> acknowledged = new ArrayList<>();
+        int failed = 0;
+        for (int i = 0; i < total; i++) {
+            try {
+                futures.get(i).get(5, TimeUnit.SECONDS);
+                acknowledged.add(reference(i));
+            } catch (ExecutionException e) {
+                failed++;
+            }
+        }
+        assertEquals(references(0, 2 * fit), acknowledged);
+        assertEquals(20, failed);
+        assertThrows(IllegalStateException.class, () -> journal.append(List.of(record(total))));
+
+        journal.close();
+        Files.delete(blocker);
+        // Exactly the acknowledged appends survive a restart
+        assertEquals(acknowledged, referencesOf(replay(0L)));
+    }
+
+    // Reopening keeps the intact records, and a new append lands where the damaged one was
+    private void assertRecoversTo(int intact) throws Exception {
+        LedgerJournal journal = journal();
+        assertEquals(references(0, intact), referencesOf(journal.open(0L)));
+        journal.append(List.of(record(100))).get(5, TimeUnit.SECONDS);
+        journal.close();
+
+        List<String> expected = references(0, intact);
+        expected.add(reference(100));
+        assertEquals(expected, referencesOf(replay(0L)));
+    }
+
+    private LedgerJournal open(Long projectedOffset) throws IOException {
+        LedgerJournal journal = journal();
+        journal.open(projectedOffset);
+        return journal;
+    }
+
+    // Configured for this test's directory and closed after it
+    private LedgerJournal journal() {
+        LedgerJournal journal = new LedgerJournal();
+        configure(journal);
+        opened.add(journal);
+        return journal;
+    }
+
+    // Opens, reads the backlog and closes again, leaving the directory as it was
+    private List<LedgerJournal.JournalEntry> replay(Long projectedOffset) throws Exception {
+        LedgerJournal journal = new LedgerJournal();
+        configure(journal);
+        try {
+            return journal.open(projectedOffset);
+        } finally {
+            journal.close();
+        }
+    }
+
+    private void configure(LedgerJournal journal) {
+        ReflectionTestUtils.setField(journal, "enabled", true);
+        ReflectionTestUtils.setField(journal, "directory", dir.toString());
+        ReflectionTestUtils.setField(journal, "segmentSize", DataSize.ofBytes(SEGMENT_BYTES));
+        ReflectionTestUtils.setField(journal, "maxGroupRecords", 10_000);
+        ReflectionTestUtils.setField(journal, "maxGroupWait", Duration.ofMillis(1));
+    }
+
+    private static void appendEach(LedgerJournal journal, int from, int to) throws Exception {
+        for (int i = from; i < to; i++) {
+            journal.append(List.of(record(i))).get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    private static List<LedgerJournal.JournalEntry> drain(LedgerJournal journal) {
+        List<LedgerJournal.JournalEntry> entries = new ArrayList<>();
+        LedgerJournal.JournalEntry entry;
+        while ((entry = journal.pollDurable()) != null) {
+            entries.add(entry);
+        }
+        return entries;
+    }
+
+    private Path onlySegment() throws IOException {
+        List<Path> segments = segments();
+        assertEquals(1, segments.size());
+        return segments.get(0);
+    }
+
+    private int segmentCount() throws IOException {
+        return segments().size();
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(".journal") && Files.isRegularFile(path))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    // Every record below has the same size, so segment boundaries are predictable
+    private static int recordBytes() {
+        return HEADER_BYTES + record(0).encode().length;
+    }
+
+    private static int recordsPerSegment() {
+        return (SEGMENT_BYTES - HEADER_BYTES) / recordBytes();
+    }
+
+    private static JournalRecord record(int i) {
+        return new JournalRecord(1L, Transaction.TransactionType.CREDIT, BigDecimal.ONE, new BigDecimal("10.00"),
+                "Deposit", null, reference(i), LocalDateTime.of(2024, 1, 1, 0, 0));
+    }
+
+    private static String reference(int i) {
+        return String.format("TXN%06d", i);
+    }
+
+    private static List<String> references(int from, int to) {
+        List<String> references = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            references.add(reference(i));
+        }
+        return references;
+    }
+
+    private static List<String> referencesOf(List<LedgerJournal.JournalEntry> entries) {
+        List<String> references = new ArrayList<>();
+        for (LedgerJournal.JournalEntry entry : entries) {
+            references.add(entry.getRecord().getReferenceNumber());
+        }
+        return references;
+    }
+}
@@ -0,0 +1,132 @@
+package com.vaultx.banking.service;
+
+import com.vaultx.banking.entity.Customer;
+import com.vaultx.banking.repository.CustomerRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Streams a million-row history through the export. Surefire runs this class
+ * in its own JVM with a small heap (see the small-heap execution in the POM),
+ * and the database is file-backed so the rows themselves live on disk; the
+ * export only passes if it never holds the history in memory.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:file:./target/export-test/vaultxdb;CACHE_SIZE=8192",
+        "audit.directory=target/export-test/audit",
+        "ids.node-id=0",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.format_sql=false",
+        "logging.level.com.vaultx.banking=INFO",
+        "logging.level.org.springframework.security=INFO"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TransactionExportServiceTest {
+
+    private static final int ROWS = 1_000_000;
+    // Clear of the seeded range, so hand-written rows never collide with it
+    private static final long FORMULA_ID_BASE = 10_000_000L;
+
+    @Autowired
+    private TransactionExportService transactionExportService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long customerId;
+
+    @BeforeAll
+    void seed() {
+        customerId = saveCustomer("export", "9000000001").getId();
+        // One set-based insert; going through JPA would take minutes and measure the seed, not the export
+        jdbcTemplate.update("INSERT INTO transactions (id, customer_id, transaction_type, amount, description, "
+                + "recipient_account, balance_after, status, reference_number, created_at) "
+                + "SELECT X, ?, 'CREDIT', 10.00, 'Seeded credit ' || X, NULL, 10.00 * X, 'COMPLETED', "
+                + "'SEED' || X, DATEADD(SECOND, X, TIMESTAMP '2024-01-01 00:00:00') "
+                + "FROM SYSTEM_RANGE(1, ?)", customerId, ROWS);
+    }
+
+    @ParameterizedTest
+    @EnumSource(TransactionExportService.ExportFormat.class)
+    void streamsAMillionRowsOnASmallHeap(TransactionExportService.ExportFormat format) {
+        LineCountingOutputStream output = new LineCountingOutputStream();
+
+        assertDoesNotThrow(() -> transactionExportService.export(customerId, format, output));
+
+        int header = format == TransactionExportService.ExportFormat.CSV ? 1 : 0;
+        assertEquals(ROWS + header, output.lines);
+    }
+
+    @Test
+    void csvKeepsFormulaLikeTextLiteral() throws Exception {
+        Long formulaCustomerId = saveCustomer("formula", "9000000002").getId();
+        String[] descriptions = {"=HYPERLINK(\"http://example.test\",\"x\")", "+1+2", "-1-2", "@SUM(A1)",
+                "\t=1+1", "\r=1+1", "Salary"};
+        for (int i = 0; i < descriptions.length; i++) {
+            jdbcTemplate.update("INSERT INTO transactions (id, customer_id, transaction_type, amount, description, "
+                            + "balance_after, status, reference_number, created_at) "
+                            + "VALUES (?, ?, 'CREDIT', 1.00, ?, 1.00, 'COMPLETED', ?, TIMESTAMP '2024-01-01 00:00:00')",
+                    FORMULA_ID_BASE + i, formulaCustomerId, descriptions[i], "=REF" + i);
+        }
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        transactionExportService.export(formulaCustomerId, TransactionExportService.ExportFormat.CSV, output);
+        String csv = output.toString(StandardCharsets.UTF_8);
+
+        assertTrue(csv.contains(",\"'=HYPERLINK(\"\"http://example.test\"\",\"\"x\"\")\","), csv);
+        assertTrue(csv.contains(",'+1+2,"), csv);
+        assertTrue(csv.contains(",'-1-2,"), csv);
+        assertTrue(csv.contains(",'@SUM(A1),"), csv);
+        assertTrue(csv.contains(",'\t=1+1,"), csv);
+        assertTrue(csv.contains(",\"'\r=1+1\","), csv);
+        assertTrue(csv.contains(",Salary,"), csv);
+        assertTrue(csv.contains(",'=REF0,"), csv);
+    }
+
+    private Customer saveCustomer(String name, String phone) {
+        Customer customer = new Customer("Export", name, name + "@vaultx.test", phone, "not-a-real-hash");
+        customer.setAccountType(Customer.AccountType.SAVINGS);
+        customer.setInitialDeposit(BigDecimal.ZERO);
+        customer.setCurrentBalance(BigDecimal.ZERO);
+        customer.setStatus(Customer.CustomerStatus.APPROVED);
+        return customerRepository.save(customer);
+    }
+
+    private static class LineCountingOutputStream extends OutputStream {
+        private long lines;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            for (int i = offset; i < offset + length; i++) {
+                if (bytes[i] == '\n') {
+                    lines++;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.vaultx.banking.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SnowflakeIdGeneratorTest {
+
+    private static final int THREADS = 8;
+    private static final int IDS_PER_THREAD = 2_500_000;
+
+    @Test
+    void concurrentGeneratorsNeverRepeatAnId() throws Exception {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(7);
+        // One array with a slice per thread keeps 20M ids at 8 bytes each
+        long[] ids = new long[THREADS * IDS_PER_THREAD];
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int from = t * IDS_PER_THREAD;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = from; i < from + IDS_PER_THREAD; i++) {
+                    ids[i] = generator.nextId();
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        for (int t = 0; t < THREADS; t++) {
+            for (int i = t * IDS_PER_THREAD + 1; i < (t + 1) * IDS_PER_THREAD; i++) {
+                assertTrue(ids[i] > ids[i - 1], "ids from one thread must increase");
+            }
+        }
+        Arrays.sort(ids);
+        for (int i = 1; i < ids.length; i++) {
+            assertTrue(ids[i] != ids[i - 1], "duplicate id " + ids[i]);
+        }
+        assertEquals(7, nodeOf(ids[0]));
+        assertEquals(7, nodeOf(ids[ids.length - 1]));
+    }
+
+    @Test
+    void clockRollbackKeepsIdsIncreasing() {
+        ManualClockGenerator generator = new ManualClockGenerator(3, 10_000);
+        long before = generator.nextId();
+
+        generator.millis.set(4_000);
+        long[] afterRollback = new long[10_000];
+        for (int i = 0; i < afterRollback.length; i++) {
+            afterRollback[i] = generator.nextId();
+        }
+        long previous = before;
+        for (long id : afterRollback) {
+            assertTrue(id > previous, "ids must keep increasing while the clock is behind");
+            assertTrue(SnowflakeIdGenerator.timestampOf(id) >= SnowflakeIdGenerator.timestampOf(before));
+            previous = id;
+        }
+
+        // Once the wall clock is ahead of the logical one again, ids follow it
+        generator.millis.set(20_000);
+        long caughtUp = generator.nextId();
+        assertTrue(caughtUp > previous);
+        assertEquals(SnowflakeIdGenerator.EPOCH_MILLIS + 20_000, SnowflakeIdGenerator.timestampOf(caughtUp));
+    }
+
+    @Test
+    void exhaustedSequenceMovesToTheNextMillisecond() {
+        ManualClockGenerator generator = new ManualClockGenerator(0, 1_000);
+        long previous = generator.nextId();
+        for (int i = 1; i < 3 * 4096; i++) {
+            long id = generator.nextId();
+            assertTrue(id > previous);
+            previous = id;
+        }
+        // 3 * 4096 ids on a frozen clock fill milliseconds 1000, 1001 and 1002
+        assertEquals(SnowflakeIdGenerator.EPOCH_MILLIS + 1_002, SnowflakeIdGenerator.timestampOf(previous));
+    }
+
+    @Test
+    void nodesSharingAClockProduceDisjointIds() {
+        ManualClockGenerator first = new ManualClockGenerator(1, 5_000);
+        ManualClockGenerator second = new ManualClockGenerator(2, 5_000);
+        for (int i = 0; i < 10_000; i++) {
+            long a = first.nextId();
+            long b = second.nextId();
+            assertTrue(a != b);
+            assertEquals(1, nodeOf(a));
+            assertEquals(2, nodeOf(b));
+        }
+    }
+
+    @Test
+    void rejectsNodeIdsOutsideTenBits() {
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(-1));
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(1024));
+    }
+
+    private static long nodeOf(long id) {
+        return (id >>> 12) & 1023;
+    }
+
+    private static class ManualClockGenerator extends SnowflakeIdGenerator {
+        private final AtomicLong millis;
+
+        ManualClockGenerator(long nodeId, long startMillis) {
+            super(nodeId);
+            this.millis = new AtomicLong(startMillis);
+        }
+
+        @Override
+        protected long currentMillis() {
+            return millis.get();
+        }
+    }
+}
@@ -12,6 +12,9 @@ fi
 # Set port
 export SERVER_PORT=8081
 
+# A single local instance; every instance sharing a database needs its own node id
+export IDS_NODE_ID=${IDS_NODE_ID:-0}
+
 echo "Building the application..."
 mvn clean compile
 
@@ -92,7 +92,7 @@ const BackendDemo: React.FC = () => {
     // Test 3: Get all customers
     try {
       const startTime = Date.now();
-      const response = await apiService.getAllCustomers();
+      const response = await apiService.getAllCustomers({ size: 20 });
       const responseTime = Date.now() - startTime;
       results.push({
         name: 'Get All Customers',
@@ -313,7 +313,7 @@ const BackendDemo: React.FC = () => {
                       { method: 'GET', path: '/demo', description: 'Demo endpoint with backend info' },
                       { method: 'POST', path: '/customers/register', description: 'Register new customer' },
                       { method: 'POST', path: '/customers/login', description: 'Customer login' },
-                      { method: 'GET', path: '/customers', description: 'Get all customers' },
+                      { method: 'GET', path: '/customers', description: 'List customers (paged, filterable)' },
                       { method: 'GET', path: '/customers/{id}', description: 'Get customer by ID' },
                       { method: 'POST', path: '/customers/{id}/transactions', description: 'Create transaction' },
                       { method: 'GET', path: '/customers/{id}/transactions', description: 'Get customer transactions' },
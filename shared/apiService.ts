@@ -68,6 +68,30 @@ export interface Transaction {
   createdAt: string;
 }
 
+export interface PageResponse<T> {
+  content: T[];
+  page: number; // zero-based
+  size: number;
+  totalElements: number;
+  totalPages: number;
+}
+
+export interface CustomerFilters {
+  status?: string;
+  accountType?: string;
+  submittedFrom?: string; // yyyy-MM-dd
+  submittedTo?: string;
+  page?: number;
+  size?: number;
+}
+
+export interface TransactionPage {
+  transactions: Transaction[];
+  nextCursor: string | null; // pass back as `cursor` for the next, older page; null on the last page
+  hasMore: boolean;
+  limit: number;
+}
+
 class ApiService {
   private getBaseUrl(): string {
     return getActiveBackend().baseUrl;
@@ -134,8 +158,21 @@ class ApiService {
     return this.makeRequest(`/customers/${customerId}`);
   }
 
-  async getAllCustomers(): Promise<ApiResponse<Customer[]>> {
-    return this.makeRequest('/customers');
+  async getAllCustomers(filters: CustomerFilters = {}): Promise<ApiResponse<PageResponse<Customer>>> {
+    const params = new URLSearchParams();
+    Object.entries(filters).forEach(([key, value]) => {
+      if (value !== undefined && value !== '') {
+        params.set(key, String(value));
+      }
+    });
+    const query = params.toString();
+    const response = await this.makeRequest<PageResponse<Customer> | Customer[]>(`/customers${query ? `?${query}` : ''}`);
+    // Backends without paging return every customer as one array
+    if (Array.isArray(response.data)) {
+      const customers = response.data;
+      return { ...response, data: { content: customers, page: 0, size: customers.length, totalElements: customers.length, totalPages: 1 } };
+    }
+    return response as ApiResponse<PageResponse<Customer>>;
   }
 
   async updateCustomerStatus(
@@ -156,8 +193,17 @@ class ApiService {
     });
   }
 
-  async getCustomerTransactions(customerId: number): Promise<ApiResponse<Transaction[]>> {
-    return this.makeRequest(`/customers/${customerId}/transactions`);
+  async getCustomerTransactions(customerId: number, cursor?: string, limit: number = 20): Promise<ApiResponse<TransactionPage>> {
+    const params = new URLSearchParams({ limit: String(limit) });
+    if (cursor) {
+      params.set('cursor', cursor);
+    }
+    const response = await this.makeRequest<TransactionPage | Transaction[]>(`/customers/${customerId}/transactions?${params}`);
+    // Backends without keyset paging return the whole history as one array
+    if (Array.isArray(response.data)) {
+      return { ...response, data: { transactions: response.data, nextCursor: null, hasMore: false, limit: response.data.length } };
+    }
+    return response as ApiResponse<TransactionPage>;
   }
 
   async getCustomerBalance(customerId: number): Promise<ApiResponse<{ currentBalance: number; accountNumber?: string; accountType: string }>> {